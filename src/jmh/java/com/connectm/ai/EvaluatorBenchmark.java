@@ -0,0 +1,63 @@
+package com.connectm.ai;
+
+import com.connectm.bench.BenchmarkPositions;
+import com.connectm.model.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures leaf evaluation: a full recount of every window against the incremental update the
+ * search performs per move. Lives in the engine's package because the evaluator is package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvaluatorBenchmark {
+    @Param({"3x3", "4x3", "5x4", "6x4", "7x4", "8x5", "9x5", "10x3", "10x5", "10x10"})
+    public String shape;
+
+    private Board board;
+    private LineEvaluator evaluator;
+
+    @Setup
+    public void setUp() {
+        int[] params = BenchmarkPositions.parseShape(shape);
+        board = BenchmarkPositions.midGame(params[0], params[1]);
+        evaluator = new LineEvaluator(params[0], params[1]);
+        evaluator.load(board, SearchWorker.AI_PLAYER);
+    }
+
+    /**
+     * Recomputes the evaluation from scratch.
+     */
+    @Benchmark
+    public int fullEvaluation() {
+        evaluator.load(board, SearchWorker.AI_PLAYER);
+        return evaluator.score();
+    }
+
+    /**
+     * Drops a disc in every open column, reading the incrementally updated evaluation each time.
+     */
+    @Benchmark
+    public void incrementalEvaluation(Blackhole blackhole) {
+        for (int col = 0; col < board.getSize(); col++) {
+            if (!board.isColumnFull(col)) {
+                int row = board.dropPiece(col, SearchWorker.AI_PLAYER);
+                evaluator.add(row, col, SearchWorker.AI_PLAYER);
+                blackhole.consume(evaluator.score());
+                board.removePiece(col);
+                evaluator.remove(row, col, SearchWorker.AI_PLAYER);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.connectm.bench;
+
+import com.connectm.model.Board;
+
+import java.util.Random;
+
+/**
+ * Builds reproducible mid-game positions for the benchmarks.
+ */
+public final class BenchmarkPositions {
+    private static final long SEED = 20250401L;     // Fixed so every run measures the same positions
+    private static final double FILL_RATIO = 0.4;  // Fraction of cells occupied in a mid-game position
+
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * Parses a benchmark shape parameter of the form {@code "NxM"}.
+     *
+     * @param shape The shape, e.g. "7x4"
+     * @return The board size and discs to win, in that order
+     */
+    public static int[] parseShape(String shape) {
+        String[] parts = shape.split("x");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+
+    /**
+     * Plays seeded random moves, never completing a line, until about 40% of the board is filled
+     * with the AI (player 2) to move.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     * @return A fresh board holding the position
+     */
+    public static Board midGame(int size, int discsToWin) {
+        Random random = new Random(SEED + size * 31L + discsToWin);
+        Board board = new Board(size);
+        int target = (int) (size * size * FILL_RATIO) | 1; // Odd, so player 2 moves next
+        int player = 1;
+        int attempts = 0;
+        while (board.getDiscCount() < target && attempts++ < size * size * 20) {
+            int col = random.nextInt(size);
+            if (board.isColumnFull(col)) continue;
+            board.dropPiece(col, player);
+            if (board.wonByLastMove(discsToWin)) {
+                board.removePiece(col); // Keep the game undecided
+                continue;
+            }
+            player = 3 - player;
+        }
+        if (board.getDiscCount() % 2 == 0) {
+            throw new IllegalStateException("Could not build a position for " + size + "x" + discsToWin);
+        }
+        return board;
+    }
+}
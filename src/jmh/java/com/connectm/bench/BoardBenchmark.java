@@ -0,0 +1,72 @@
+package com.connectm.bench;
+
+import com.connectm.model.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Board operations on the search hot path: drop/remove, full-board win checks and
+ * last-move win checks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+    @Param({"3x3", "4x3", "5x4", "6x4", "7x4", "8x5", "9x5", "10x3", "10x5", "10x10"})
+    public String shape;
+
+    private Board board;
+    private int discsToWin;
+
+    @Setup
+    public void setUp() {
+        int[] params = BenchmarkPositions.parseShape(shape);
+        discsToWin = params[1];
+        board = BenchmarkPositions.midGame(params[0], discsToWin);
+    }
+
+    /**
+     * Drops and removes a disc in every open column.
+     */
+    @Benchmark
+    public void dropAndRemove(Blackhole blackhole) {
+        for (int col = 0; col < board.getSize(); col++) {
+            if (!board.isColumnFull(col)) {
+                blackhole.consume(board.dropPiece(col, 2));
+                board.removePiece(col);
+            }
+        }
+    }
+
+    /**
+     * Runs a full-board win check for both players.
+     */
+    @Benchmark
+    public void checkWin(Blackhole blackhole) {
+        blackhole.consume(board.checkWin(1, discsToWin));
+        blackhole.consume(board.checkWin(2, discsToWin));
+    }
+
+    /**
+     * Drops a disc in every open column and checks whether it won, as the search does per node.
+     */
+    @Benchmark
+    public void dropAndCheckLastMove(Blackhole blackhole) {
+        for (int col = 0; col < board.getSize(); col++) {
+            if (!board.isColumnFull(col)) {
+                board.dropPiece(col, 2);
+                blackhole.consume(board.wonByLastMove(discsToWin));
+                board.removePiece(col);
+            }
+        }
+    }
+}
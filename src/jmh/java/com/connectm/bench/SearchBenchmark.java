@@ -0,0 +1,88 @@
+package com.connectm.bench;
+
+import com.connectm.ai.AIPlayer;
+import com.connectm.ai.SearchResult;
+import com.connectm.model.Board;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete AI move search with a fixed node budget, so every invocation does the same
+ * amount of work. The {@code nodes} counter is reported as nodes per second; run with the gc
+ * profiler (the Gradle default) for the allocation rate. The {@code algorithm} parameter compares
+ * principal variation search with plain minimax.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchBenchmark {
+    private static final long TIME_BUDGET_MS = 60_000; // Effectively unlimited; the node budget ends the search
+    private static final long NODE_BUDGET = 200_000;
+
+    @Param({"3x3", "4x3", "5x4", "6x4", "7x4", "8x5", "9x5", "10x3", "10x5", "10x10"})
+    public String shape;
+
+    @Param({"pvs", "minimax"})
+    public String algorithm;
+
+    private Board board;
+    private int discsToWin;
+    private AIPlayer aiPlayer;
+
+    /**
+     * Nodes searched, reported by JMH as a rate alongside the benchmark score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class NodeCounter {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        int[] params = BenchmarkPositions.parseShape(shape);
+        discsToWin = params[1];
+        board = BenchmarkPositions.midGame(params[0], discsToWin);
+        aiPlayer = new AIPlayer();
+        aiPlayer.setPrincipalVariationSearch(algorithm.equals("pvs"));
+    }
+
+    /**
+     * Starts every search from an empty transposition table so invocations are comparable.
+     */
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        aiPlayer.getTranspositionTable().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        aiPlayer.shutdown();
+    }
+
+    /**
+     * Runs one full iterative-deepening search.
+     */
+    @Benchmark
+    public int getBestMove(NodeCounter counter) {
+        SearchResult result = aiPlayer.search(board, discsToWin, TIME_BUDGET_MS, NODE_BUDGET);
+        counter.nodes += result.nodes();
+        return result.column();
+    }
+}
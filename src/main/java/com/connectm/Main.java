@@ -1,5 +1,6 @@
 package com.connectm;
 
+import com.connectm.ai.MonteCarloPlayer;
 import com.connectm.controller.GameController;
 import com.connectm.model.GameState;
 import com.connectm.view.ConnectMView;
@@ -9,6 +10,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Entry point for the Connect M game application. Initializes the game with command-line arguments
@@ -32,10 +35,17 @@ public class Main {
             // Initialize game components
             GameState gameState = new GameState(boardSize, discsToWin, firstPlayer);
             ConnectMView view = new ConnectMView(gameState, CELL_SIZE, HEADER_SIZE);
-            GameController controller = new GameController(gameState, view);
+            GameController controller = createController(gameState, view);
+            controller.setShowSearchStats(Boolean.getBoolean("connectm.searchStats"));
 
-            // Set up the main window
+            // Set up the main window, stopping any AI search when it closes
             JFrame frame = createMainFrame(view);
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    controller.shutdown();
+                }
+            });
             frame.setVisible(true);
 
             // Force repaint with a timer to ensure rendering on all platforms
@@ -54,6 +64,23 @@ public class Main {
         });
     }
 
+    /**
+     * Creates the game controller with the engine chosen by the {@code connectm.engine} system
+     * property: {@code mcts} for the Monte Carlo engine, otherwise the default alpha-beta engine.
+     *
+     * @param gameState The game state
+     * @param view      The game view
+     * @return The controller
+     */
+    private static GameController createController(GameState gameState, ConnectMView view) {
+        if ("mcts".equals(System.getProperty("connectm.engine"))) {
+            MonteCarloPlayer engine = new MonteCarloPlayer();
+            engine.setThreads(Runtime.getRuntime().availableProcessors());
+            return new GameController(gameState, view, engine);
+        }
+        return new GameController(gameState, view);
+    }
+
     private static boolean validateArgs(String[] args) {
         if (args.length < 3) {
             System.err.println("Usage: java -jar ConnectM.jar <N> <M> <H>");
@@ -2,146 +2,517 @@ package com.connectm.ai;
 
 import com.connectm.model.Board;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Implements the AI opponent for the Connect M game using minimax with alpha-beta pruning.
+ * Implements the AI opponent for the Connect M game using an alpha-beta search: principal
+ * variation search with aspiration windows by default, or plain minimax for comparison.
+ * Searches deepen iteratively until a time (and optionally node) budget runs out; the move from
+ * the last fully completed iteration is played.
+ * <p>
+ * With more than one search thread, the extra threads run helper searches of the same position
+ * (Lazy SMP). Every thread works on its own copy of the board and they cooperate only through the
+ * shared transposition table, so the caller's board is never modified.
+ * <p>
+ * Between moves the player can ponder: search its answers to each possible human reply on the
+ * human's time. The next search then starts from a warm table and its budget is reduced by the
+ * time already spent pondering the position that actually arose.
+ * <p>
+ * Positions found in an optional {@link OpeningBook} are answered from the book without searching.
+ * Otherwise a {@link TacticalCheck} runs first: immediate wins, forced blocks and forks are played
+ * at once, and moves that hand the opponent an immediate win are left out of the search.
+ * Positions an earlier run searched deeply are then answered from an optional {@link SearchCache}.
+ * On small boards an optional {@link ProofSolver} is tried first with part of the budget; when it
+ * proves a win or draw, the proven move is played instead of the heuristic one.
+ * <p>
+ * Every search emits a {@code com.connectm.MoveSearch} Flight Recorder event and adds its counts
+ * to {@link SearchMetrics}.
  */
-public class AIPlayer {
-    private static final int AI_PLAYER = 2;       // AI player identifier
-    private static final int HUMAN_PLAYER = 1;    // Human player identifier
-    private static final int MAX_DEPTH = 4;       // Search depth for minimax
-    private static final int WIN_SCORE = 1000;    // Score for a winning state
-    private static final int NEAR_WIN_SCORE = 50; // Score for M-1 discs in a row
-    private static final int PROGRESS_SCORE = 10; // Score for M-2 discs in a row
-    private static final int[][] DIRECTIONS = {
-            {1, 0},  // Vertical
-            {0, 1},  // Horizontal
-            {1, 1},  // Diagonal (\)
-            {1, -1}  // Diagonal (/)
-    };
+public class AIPlayer implements Engine {
+    private static final long DEFAULT_TIME_BUDGET_MS = 500; // Thinking time per move
+    private static final int MIN_BUDGET_FRACTION = 10;      // A pondered search keeps at least 1/10 of its budget
+    private static final int SOLVER_BUDGET_FRACTION = 2;    // The solver may use up to half of a move's budget
+    private static final int DEFAULT_EXACT_THRESHOLD = 16;  // Empty cells at which the search goes exact
+
+    private final TranspositionTable table;
+    private long timeBudgetMillis = DEFAULT_TIME_BUDGET_MS;
+    private boolean moveOrdering = true;
+    private boolean principalVariationSearch = true; // PVS with aspiration windows, or plain minimax
+    private int exactThreshold = DEFAULT_EXACT_THRESHOLD; // Empty cells at or below which the search is exact
+    private int threads = 1;                  // Search threads, including the calling thread
+    private SearchWorker[] workers = new SearchWorker[0];
+    private ExecutorService helperPool;       // Runs the helper workers; created on first use
+    private volatile SearchResult lastResult; // Outcome of the most recent search
+    private volatile SearchControl activeControl; // Control of the running search, for cancellation
+    private SearchWorker ponderer;            // Worker that ran the last ponder, consulted by the next search
+    private ProofSolver solver;               // Exact solver tried before searching on small boards, or null
+    private OpeningBook openingBook;          // Precomputed opening moves, or null
+    private SearchCache searchCache;          // Deep search results kept across runs, or null
+
+    /**
+     * Constructs an AI player with a default-sized transposition table.
+     */
+    public AIPlayer() {
+        this.table = new TranspositionTable();
+    }
 
-    private int discsToWin; // Number of discs needed to win (M)
+    /**
+     * Constructs an AI player with a transposition table of 2^tableSizeBits entries (16 bytes
+     * each), e.g. to bound memory when many players run at once.
+     *
+     * @param tableSizeBits The base-2 logarithm of the table's entry count
+     */
+    public AIPlayer(int tableSizeBits) {
+        this.table = new TranspositionTable(tableSizeBits);
+    }
 
     /**
-     * Determines the best column for the AI to drop its piece using minimax with alpha-beta pruning.
+     * Sets the thinking time used by {@link #getBestMove(Board, int)}.
+     *
+     * @param timeBudgetMillis The time budget per move in milliseconds
+     */
+    @Override
+    public void setTimeBudget(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Returns the thinking time used by {@link #getBestMove(Board, int)}.
+     *
+     * @return The time budget per move in milliseconds
+     */
+    @Override
+    public long getTimeBudget() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Enables or disables center-first, killer and history move ordering. Disabling it is only
+     * useful for comparing node counts; the transposition table move is always tried first.
+     *
+     * @param enabled true to order moves (the default)
+     */
+    public void setMoveOrdering(boolean enabled) {
+        this.moveOrdering = enabled;
+    }
+
+    /**
+     * Chooses the search algorithm: principal variation search with null-window probes and
+     * aspiration windows, or the plain minimax alpha-beta search. Both find the same scores;
+     * switching is useful for comparing node counts.
+     *
+     * @param enabled true for PVS (the default), false for minimax
+     */
+    public void setPrincipalVariationSearch(boolean enabled) {
+        this.principalVariationSearch = enabled;
+    }
+
+    /**
+     * Sets the number of empty cells at or below which searches run exactly to the end of the
+     * game, scoring wins by distance instead of using the heuristic evaluation.
+     *
+     * @param emptyCells The empty-cell threshold, or 0 to always search heuristically
+     */
+    public void setExactThreshold(int emptyCells) {
+        this.exactThreshold = emptyCells;
+    }
+
+    /**
+     * Sets the number of threads used per search. One thread searches on the caller's thread;
+     * the rest run as helpers on a pool owned by this player.
+     *
+     * @param threads The number of search threads (at least 1)
+     */
+    @Override
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+        if (threads != this.threads) {
+            stopHelpers();
+            this.threads = threads;
+        }
+    }
+
+    /**
+     * Sets a proof-number solver to try before each search on boards of up to
+     * {@link ProofSolver#MAX_PLAY_SIZE} columns. Proven wins and draws are played directly;
+     * otherwise the regular search runs with the remaining budget.
+     *
+     * @param solver The solver, or null to always search heuristically
+     */
+    public void setSolver(ProofSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Sets the opening book consulted before each search. Positions in the book are answered
+     * immediately with the book move.
+     *
+     * @param openingBook The book, or null to always search
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Sets the persistent cache of deep search results. Positions with a cached result are
+     * answered immediately, and new results deep enough for the cache are added to it.
+     *
+     * @param searchCache The cache, or null to always search
+     */
+    public void setSearchCache(SearchCache searchCache) {
+        this.searchCache = searchCache;
+    }
+
+    /**
+     * Returns the outcome of the most recent search, including the depth reached.
+     *
+     * @return The last search result, or null if no search has run yet
+     */
+    @Override
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Returns the transposition table shared by this player's searches, e.g. to read its
+     * hit/miss/collision counters. The counters are approximate while several threads search.
+     *
+     * @return The transposition table
+     */
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Determines the best column for the AI to drop its piece using the default time budget.
      *
      * @param board      The current game board
      * @param discsToWin The number of discs required to win (M)
      * @return The best column index for the AI's move, or -1 if no valid move is found
      */
     public int getBestMove(Board board, int discsToWin) {
-        this.discsToWin = discsToWin;
-        int bestColumn = -1;
-        int bestScore = Integer.MIN_VALUE;
-
-        for (int col = 0; col < board.getSize(); col++) {
-            if (!board.isColumnFull(col)) {
-                int row = board.dropPiece(col, AI_PLAYER);
-                if (row != -1) {
-                    int score = minimax(board, discsToWin, MAX_DEPTH, Integer.MIN_VALUE, Integer.MAX_VALUE, false);
-                    board.removePiece(col); // Undo the move
-                    if (score > bestScore) {
-                        bestScore = score;
-                        bestColumn = col;
-                    }
-                }
-            }
+        return search(board, discsToWin, timeBudgetMillis, 0).column();
+    }
+
+    /**
+     * Determines the best column for the given player using the default time budget, e.g. when
+     * two AI players play each other.
+     *
+     * @param board      The current game board
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     * @return The best column index for the player's move, or -1 if no valid move is found
+     */
+    @Override
+    public int getBestMove(Board board, int discsToWin, int player) {
+        return search(board, discsToWin, player, timeBudgetMillis, 0).column();
+    }
+
+    /**
+     * Searches for the best column with iterative deepening: depth 1, 2, 3, ... until the board
+     * is exhausted, a forced result is found, or the budget runs out. The first iteration always
+     * completes, so a legal move is returned even with a zero budget.
+     *
+     * @param board            The current game board (not modified)
+     * @param discsToWin       The number of discs required to win (M)
+     * @param timeBudgetMillis The wall-clock budget in milliseconds
+     * @param nodeBudget       The maximum number of positions to visit across all threads, or 0
+     *                         for no limit
+     * @return The best move from the deepest completed iteration, with the depth it reached
+     */
+    public SearchResult search(Board board, int discsToWin, long timeBudgetMillis, long nodeBudget) {
+        return search(board, discsToWin, SearchWorker.AI_PLAYER, timeBudgetMillis, nodeBudget);
+    }
+
+    /**
+     * Searches for the best column for the given player; see
+     * {@link #search(Board, int, long, long)}.
+     *
+     * @param board            The current game board (not modified)
+     * @param discsToWin       The number of discs required to win (M)
+     * @param player           The player to move (1 or 2)
+     * @param timeBudgetMillis The wall-clock budget in milliseconds
+     * @param nodeBudget       The maximum number of positions to visit across all threads, or 0
+     *                         for no limit
+     * @return The best move from the deepest completed iteration, with the depth it reached
+     */
+    @Override
+    public SearchResult search(Board board, int discsToWin, int player, long timeBudgetMillis, long nodeBudget) {
+        // Published before any work so a cancel() during the book, tactics or solver steps is not lost
+        SearchControl move = new SearchControl();
+        activeControl = move;
+        try {
+            return search(board, discsToWin, player, timeBudgetMillis, nodeBudget, move);
+        } finally {
+            activeControl = null;
+        }
+    }
+
+    /**
+     * Runs the steps of a move search: book, tactics, cache, solver and the threaded search. Each
+     * budgeted step runs under a child of the move's control, so cancelling the move stops it.
+     *
+     * @param board            The current game board (not modified)
+     * @param discsToWin       The number of discs required to win (M)
+     * @param player           The player to move (1 or 2)
+     * @param timeBudgetMillis The wall-clock budget in milliseconds
+     * @param nodeBudget       The maximum number of positions to visit, or 0 for no limit
+     * @param move             The control published for cancellation
+     * @return The best move found
+     */
+    private SearchResult search(Board board, int discsToWin, int player, long timeBudgetMillis, long nodeBudget,
+                                SearchControl move) {
+        MoveSearchEvent event = new MoveSearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        OpeningBook.BookMove bookMove = openingBook == null ? null : openingBook.lookup(board, discsToWin, player);
+        if (bookMove != null && !board.isColumnFull(bookMove.column())) {
+            ponderer = null;
+            return finish(event, board, discsToWin, player, 1, new SearchResult(bookMove.column(), bookMove.score(),
+                    bookMove.depth(), 0, 0, 0, (System.nanoTime() - start) / 1_000_000L, List.of(bookMove.column())));
+        }
+        TacticalCheck.Verdict tactics = TacticalCheck.analyze(board, discsToWin, player);
+        if (tactics.isForced()) {
+            ponderer = null;
+            return finish(event, board, discsToWin, player, 1, new SearchResult(tactics.column(), tactics.score(),
+                    tactics.depth(), tactics.nodes(), 0, 0, (System.nanoTime() - start) / 1_000_000L,
+                    List.of(tactics.column())));
         }
-        return bestColumn;
-    }
-
-    /**
-     * Implements the minimax algorithm with alpha-beta pruning to evaluate the best move.
-     *
-     * @param board         The current game board
-     * @param discsToWin    The number of discs required to win (M)
-     * @param depth         The remaining depth to search
-     * @param alpha         The best score for the maximizer (AI)
-     * @param beta          The best score for the minimizer (human)
-     * @param isMaximizing  True if maximizing (AI's turn), false if minimizing (human's turn)
-     * @return The evaluated score of the board state
-     */
-    private int minimax(Board board, int discsToWin, int depth, int alpha, int beta, boolean isMaximizing) {
-        // Base cases: win, loss, or depth limit reached
-        if (board.checkWin(AI_PLAYER, discsToWin)) return WIN_SCORE;
-        if (board.checkWin(HUMAN_PLAYER, discsToWin)) return -WIN_SCORE;
-        if (depth == 0) return evaluateBoard(board);
-
-        if (isMaximizing) {
-            int maxEval = Integer.MIN_VALUE;
-            for (int col = 0; col < board.getSize(); col++) {
-                if (!board.isColumnFull(col)) {
-                    int row = board.dropPiece(col, AI_PLAYER);
-                    if (row != -1) {
-                        int eval = minimax(board, discsToWin, depth - 1, alpha, beta, false);
-                        board.removePiece(col); // Undo the move
-                        maxEval = Math.max(maxEval, eval);
-                        alpha = Math.max(alpha, eval);
-                        if (beta <= alpha) break; // Alpha-beta pruning
-                    }
-                }
+        OpeningBook.BookMove cached = searchCache == null ? null : searchCache.get(board, discsToWin, player);
+        if (cached != null && !board.isColumnFull(cached.column()) && (tactics.candidates() & 1 << cached.column()) != 0) {
+            ponderer = null;
+            return finish(event, board, discsToWin, player, 1, new SearchResult(cached.column(), cached.score(),
+                    cached.depth(), tactics.nodes(), 0, 0, (System.nanoTime() - start) / 1_000_000L,
+                    List.of(cached.column())));
+        }
+        if (solver != null && board.getSize() <= ProofSolver.MAX_PLAY_SIZE) {
+            SearchControl control = new SearchControl(move, timeBudgetMillis / SOLVER_BUDGET_FRACTION,
+                    nodeBudget / SOLVER_BUDGET_FRACTION);
+            SolverResult proof = solver.solve(board, discsToWin, player, control);
+            if (proof.column() != -1) {
+                ponderer = null;
+                int score = proof.outcome() == ProofSolver.Outcome.WIN ? SearchWorker.WIN_SCORE : 0;
+                int depth = board.getSize() * board.getSize() - board.getDiscCount(); // Proven to the end
+                return finish(event, board, discsToWin, player, 1, new SearchResult(proof.column(), score, depth,
+                        proof.nodes(), 0, 0, (System.nanoTime() - start) / 1_000_000L, List.of(proof.column())));
             }
-            return maxEval;
-        } else {
-            int minEval = Integer.MAX_VALUE;
-            for (int col = 0; col < board.getSize(); col++) {
-                if (!board.isColumnFull(col)) {
-                    int row = board.dropPiece(col, HUMAN_PLAYER);
-                    if (row != -1) {
-                        int eval = minimax(board, discsToWin, depth - 1, alpha, beta, true);
-                        board.removePiece(col); // Undo the move
-                        minEval = Math.min(minEval, eval);
-                        beta = Math.min(beta, eval);
-                        if (beta <= alpha) break; // Alpha-beta pruning
-                    }
-                }
+            if (control.isCancelled()) {
+                return finish(event, board, discsToWin, player, 1, new SearchResult(-1, 0, 0, proof.nodes(), 0, 0,
+                        (System.nanoTime() - start) / 1_000_000L, List.of()));
             }
-            return minEval;
+            timeBudgetMillis -= proof.elapsedMillis();
+        }
+        if (ponderer != null) {
+            // Credit time already spent on this position while pondering, keeping a small remainder
+            long pondered = ponderer.getPonderedNanos(board.getHash()) / 1_000_000L;
+            timeBudgetMillis = Math.max(timeBudgetMillis / MIN_BUDGET_FRACTION, timeBudgetMillis - pondered);
+            ponderer = null;
+        }
+        SearchControl control = new SearchControl(move, timeBudgetMillis, nodeBudget);
+        table.newSearch();
+        SearchWorker[] active = ensureWorkers();
+        for (SearchWorker worker : active) {
+            prepare(worker, board, discsToWin, player, control);
+            worker.setRootCandidates(tactics.candidates());
+        }
+
+        // Helpers start at staggered depths so they fill the table ahead of the main search
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < active.length; i++) {
+            SearchWorker helper = active[i];
+            int firstDepth = 1 + (i & 1);
+            helpers.add(helperPool.submit(() -> helper.iterate(firstDepth, false)));
+        }
+        active[0].iterate(1, true);
+        control.stop();
+        awaitHelpers(helpers);
+
+        // Play the deepest completed result; the main worker wins ties
+        SearchWorker best = active[0];
+        long nodes = tactics.nodes();
+        long evaluations = 0;
+        long cutoffs = 0;
+        for (SearchWorker worker : active) {
+            nodes += worker.getNodes();
+            evaluations += worker.getEvaluations();
+            cutoffs += worker.getCutoffs();
+            if (worker.getDepthReached() > best.getDepthReached() && worker.getBestColumn() != -1) {
+                best = worker;
+            }
+        }
+        List<Integer> line = Arrays.stream(best.getPrincipalVariation()).boxed().toList();
+        SearchResult result = new SearchResult(best.getBestColumn(), best.getBestScore(), best.getDepthReached(),
+                nodes, evaluations, cutoffs, (System.nanoTime() - start) / 1_000_000L, line);
+        if (searchCache != null && !control.isCancelled()) {
+            searchCache.put(board, discsToWin, player, result);
         }
+        return finish(event, board, discsToWin, player, active.length, result);
     }
 
     /**
-     * Evaluates the board state by scoring potential winning sequences for both players.
+     * Ponders the position with the human (player 1) to move, searching the AI's answers to every
+     * reply until {@link #cancel()} is called or the board is exhausted. Blocks the calling
+     * thread, so run it in the background. If the calling thread is interrupted before pondering
+     * starts, it returns at once.
      *
-     * @param board The current game board
-     * @return The heuristic score (positive for AI advantage, negative for human advantage)
+     * @param board      The current game board, with the human to move (not modified)
+     * @param discsToWin The number of discs required to win (M)
      */
-    private int evaluateBoard(Board board) {
-        int score = 0;
-        for (int row = 0; row < board.getSize(); row++) {
-            for (int col = 0; col < board.getSize(); col++) {
-                if (board.getState()[row][col] == AI_PLAYER) {
-                    score += checkPotential(board, row, col, AI_PLAYER);
-                } else if (board.getState()[row][col] == HUMAN_PLAYER) {
-                    score -= checkPotential(board, row, col, HUMAN_PLAYER);
-                }
+    public void ponder(Board board, int discsToWin) {
+        ponder(board, discsToWin, SearchWorker.AI_PLAYER);
+    }
+
+    /**
+     * Ponders the position with the given player's opponent to move; see
+     * {@link #ponder(Board, int)}.
+     *
+     * @param board      The current game board, with the opponent to move (not modified)
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player this AI plays as (1 or 2)
+     */
+    @Override
+    public void ponder(Board board, int discsToWin, int player) {
+        SearchControl control = new SearchControl();
+        activeControl = control;
+        try {
+            if (Thread.currentThread().isInterrupted()) {
+                control.cancel(); // Cancelled between being scheduled and starting
             }
+            SearchWorker worker = ensureWorkers()[0];
+            prepare(worker, board, discsToWin, player, control);
+            worker.ponder();
+            ponderer = worker;
+        } finally {
+            activeControl = null;
+        }
+    }
+
+    /**
+     * Cancels the running search, if any, from another thread. The search returns promptly,
+     * possibly with column -1 if its first iteration had not finished.
+     */
+    @Override
+    public void cancel() {
+        SearchControl control = activeControl;
+        if (control != null) {
+            control.cancel();
+        }
+    }
+
+    /**
+     * Clears the transposition table and any pondering results.
+     */
+    @Override
+    public void reset() {
+        table.clear();
+        ponderer = null;
+    }
+
+    /**
+     * Stops the helper thread pool and writes out the search cache, if any. The player can still
+     * be used afterwards; the pool is recreated on the next multi-threaded search.
+     */
+    @Override
+    public void shutdown() {
+        stopHelpers();
+        if (searchCache != null) {
+            searchCache.close();
+        }
+    }
+
+    /**
+     * Publishes a finished search: records its metrics, commits its Flight Recorder event and
+     * makes it the last result.
+     *
+     * @param event      The event begun when the search started
+     * @param board      The searched position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player who searched
+     * @param threads    The number of threads that searched
+     * @param result     The search outcome
+     * @return The result
+     */
+    private SearchResult finish(MoveSearchEvent event, Board board, int discsToWin, int player, int threads,
+                                SearchResult result) {
+        SearchMetrics.record(result);
+        event.complete(board, discsToWin, player, threads, result);
+        lastResult = result;
+        return result;
+    }
+
+    /**
+     * Stops the helper thread pool and drops the workers, e.g. when the thread count changes.
+     */
+    private void stopHelpers() {
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+            helperPool = null;
+        }
+        workers = new SearchWorker[0];
+    }
+
+    /**
+     * Configures a worker with this player's settings and resets it for a new search. Moves and
+     * pondering share it so the table entries pondering leaves behind fit the next move search.
+     *
+     * @param worker     The worker
+     * @param board      The position to search
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player this AI plays as (1 or 2)
+     * @param control    The budget and stop state
+     */
+    private void prepare(SearchWorker worker, Board board, int discsToWin, int player, SearchControl control) {
+        worker.setExactThreshold(exactThreshold);
+        worker.setPrincipalVariationSearch(principalVariationSearch);
+        worker.reset(board, discsToWin, player, control, moveOrdering);
+    }
+
+    /**
+     * Creates the workers and helper pool for the configured thread count if needed.
+     *
+     * @return The workers for the next search
+     */
+    private SearchWorker[] ensureWorkers() {
+        if (workers.length == threads) return workers;
+        workers = new SearchWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new SearchWorker(table);
+        }
+        if (threads > 1 && helperPool == null) {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            helperPool = Executors.newFixedThreadPool(threads - 1, task -> {
+                Thread thread = new Thread(task, "connectm-search-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
         }
-        return score;
+        return workers;
     }
 
     /**
-     * Scores potential winning sequences for a player starting at a given position.
+     * Waits for the helper searches to unwind after the search has been stopped.
      *
-     * @param board  The current game board
-     * @param row    The starting row position
-     * @param col    The starting column position
-     * @param player The player to evaluate (1 or 2)
-     * @return The score for potential sequences (e.g., M-1 or M-2 in a row)
+     * @param helpers The helper tasks
      */
-    private int checkPotential(Board board, int row, int col, int player) {
-        int score = 0;
-        for (int[] dir : DIRECTIONS) {
-            int count = 1;
-            int r = row + dir[0], c = col + dir[1];
-            while (r >= 0 && r < board.getSize() && c >= 0 && c < board.getSize() &&
-                    board.getState()[r][c] == player) {
-                count++;
-                r += dir[0];
-                c += dir[1];
+    private void awaitHelpers(List<Future<?>> helpers) {
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Helper search failed", e.getCause());
             }
-            if (count == discsToWin - 1) score += NEAR_WIN_SCORE;  // Near-win (M-1)
-            else if (count == discsToWin - 2) score += PROGRESS_SCORE;  // Progress (M-2)
         }
-        return score;
     }
-}
\ No newline at end of file
+}
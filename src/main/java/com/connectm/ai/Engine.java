@@ -0,0 +1,92 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+/**
+ * A move-choosing engine that the controller and the headless tools can use interchangeably:
+ * the alpha-beta {@link AIPlayer} or the Monte Carlo {@link MonteCarloPlayer}.
+ * <p>
+ * Engines never modify the boards passed to them. An engine serves one search at a time;
+ * {@link #cancel()} is the only method meant to be called from another thread during a search.
+ */
+public interface Engine {
+    /**
+     * Sets the thinking time used by {@link #getBestMove(Board, int, int)}.
+     *
+     * @param timeBudgetMillis The time budget per move in milliseconds
+     */
+    void setTimeBudget(long timeBudgetMillis);
+
+    /**
+     * Sets the number of threads used per search, including the calling thread.
+     *
+     * @param threads The number of search threads (at least 1)
+     */
+    void setThreads(int threads);
+
+    /**
+     * Determines the best column for the given player using the configured time budget.
+     *
+     * @param board      The current game board (not modified)
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     * @return The best column index, or -1 if no valid move is found
+     */
+    default int getBestMove(Board board, int discsToWin, int player) {
+        return search(board, discsToWin, player, getTimeBudget(), 0).column();
+    }
+
+    /**
+     * Returns the thinking time used by {@link #getBestMove(Board, int, int)}.
+     *
+     * @return The time budget per move in milliseconds
+     */
+    long getTimeBudget();
+
+    /**
+     * Searches for the best column for the given player within a budget.
+     *
+     * @param board            The current game board (not modified)
+     * @param discsToWin       The number of discs required to win (M)
+     * @param player           The player to move (1 or 2)
+     * @param timeBudgetMillis The wall-clock budget in milliseconds
+     * @param nodeBudget       The maximum amount of work (positions or playouts, depending on the
+     *                         engine) across all threads, or 0 for no limit
+     * @return The best move found
+     */
+    SearchResult search(Board board, int discsToWin, int player, long timeBudgetMillis, long nodeBudget);
+
+    /**
+     * Returns the outcome of the most recent search.
+     *
+     * @return The last search result, or null if no search has run yet
+     */
+    SearchResult getLastResult();
+
+    /**
+     * Thinks about the position on the opponent's time until {@link #cancel()} is called.
+     * Engines that cannot use the time return at once.
+     *
+     * @param board      The current game board, with the opponent to move (not modified)
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player this engine plays as (1 or 2)
+     */
+    default void ponder(Board board, int discsToWin, int player) {
+    }
+
+    /**
+     * Cancels the running search or ponder, if any, from another thread.
+     */
+    void cancel();
+
+    /**
+     * Forgets everything learned from earlier searches, e.g. before a game on a different board
+     * shape.
+     */
+    void reset();
+
+    /**
+     * Stops the engine's helper threads. The engine can still be used afterwards.
+     */
+    void shutdown();
+}
@@ -0,0 +1,133 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+import com.connectm.model.LineTable;
+
+import java.util.Arrays;
+
+/**
+ * Scores positions by the length-M lines (windows) still open to each player, maintained
+ * incrementally as discs are dropped and removed.
+ * <p>
+ * The horizontal, vertical and diagonal windows of M cells, and the windows through each cell,
+ * come from the shared {@link LineTable} for the board shape. Each window tracks how many discs
+ * of each player it holds; a window containing discs of only one player is worth
+ * {@code NEAR_WIN_SCORE} to that player at M-1 discs, {@code PROGRESS_SCORE} at M-2 and a point
+ * below that. Only the windows through the changed cell are rescored on each move, so reading
+ * the evaluation is a field access.
+ */
+class LineEvaluator {
+    private static final int NEAR_WIN_SCORE = 50; // Score for M-1 discs in an open window
+    private static final int PROGRESS_SCORE = 10; // Score for M-2 discs in an open window
+    private static final int OPEN_SCORE = 1;      // Score for fewer discs in an open window
+
+    private final int size;           // Board size (N)
+    private final int discsToWin;     // Window length (M)
+    private final int[] weights;      // Score of an open window by disc count
+    private final LineTable lines;    // The windows, shared with all boards of this shape
+    private final int[] aiCounts;     // AI discs in each window
+    private final int[] humanCounts;  // Human discs in each window
+    private int score;                // Sum of all window scores, AI minus human
+    private int aiPlayer = SearchWorker.AI_PLAYER; // The player whose windows count positively
+
+    /**
+     * Prepares window counts for boards of the given size and win length.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     */
+    LineEvaluator(int size, int discsToWin) {
+        this.size = size;
+        this.discsToWin = discsToWin;
+        this.weights = new int[discsToWin + 1];
+        for (int count = 1; count < discsToWin; count++) {
+            weights[count] = count == discsToWin - 1 ? NEAR_WIN_SCORE
+                    : count == discsToWin - 2 ? PROGRESS_SCORE
+                    : OPEN_SCORE;
+        }
+        this.lines = LineTable.of(size, discsToWin);
+        this.aiCounts = new int[lines.getLineCount()];
+        this.humanCounts = new int[lines.getLineCount()];
+    }
+
+    /**
+     * Checks whether this evaluator was built for the given parameters.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     * @return true if the windows match
+     */
+    boolean matches(int size, int discsToWin) {
+        return this.size == size && this.discsToWin == discsToWin;
+    }
+
+    /**
+     * Recomputes all window counts from a board, e.g. at the start of a search.
+     *
+     * @param board    The position to load
+     * @param aiPlayer The player the score is computed for (1 or 2)
+     */
+    void load(Board board, int aiPlayer) {
+        this.aiPlayer = aiPlayer;
+        Arrays.fill(aiCounts, 0);
+        Arrays.fill(humanCounts, 0);
+        score = 0;
+        int[][] state = board.getState();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (state[row][col] != 0) {
+                    add(row, col, state[row][col]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the windows through a cell after a disc is dropped into it.
+     *
+     * @param row    The row the disc landed in
+     * @param col    The column of the disc
+     * @param player The player who owns the disc (1 or 2)
+     */
+    void add(int row, int col, int player) {
+        int[] counts = player == aiPlayer ? aiCounts : humanCounts;
+        for (int line : lines.linesThrough(row, col)) {
+            score -= lineScore(line);
+            counts[line]++;
+            score += lineScore(line);
+        }
+    }
+
+    /**
+     * Updates the windows through a cell after its disc is removed.
+     *
+     * @param row    The row of the removed disc
+     * @param col    The column of the removed disc
+     * @param player The player who owned the disc (1 or 2)
+     */
+    void remove(int row, int col, int player) {
+        int[] counts = player == aiPlayer ? aiCounts : humanCounts;
+        for (int line : lines.linesThrough(row, col)) {
+            score -= lineScore(line);
+            counts[line]--;
+            score += lineScore(line);
+        }
+    }
+
+    /**
+     * Returns the current evaluation.
+     *
+     * @return The heuristic score (positive for AI advantage, negative for human advantage)
+     */
+    int score() {
+        return score;
+    }
+
+    private int lineScore(int line) {
+        int ai = aiCounts[line];
+        int human = humanCounts[line];
+        if (human == 0) return weights[ai];
+        if (ai == 0) return -weights[human];
+        return 0; // Blocked for both players
+    }
+}
@@ -0,0 +1,266 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implements an AI opponent using Monte Carlo Tree Search (UCT), meant for large boards where
+ * the alpha-beta search of {@link AIPlayer} cannot look deep enough for its evaluation to pay off.
+ * <p>
+ * Each search thread grows its own {@link MonteCarloTree} of the position with lightly guided
+ * random playouts until the time (and optionally playout) budget runs out; the root statistics
+ * of all trees are then added up and the most visited column is played. The trees are kept
+ * between moves, so the playouts spent on the position that actually arose are reused.
+ * <p>
+ * Like {@link AIPlayer}, a {@link TacticalCheck} runs first: immediate wins, forced blocks and
+ * forks are played at once, and moves that hand the opponent an immediate win are never explored
+ * at the root. Every search emits a {@code com.connectm.MoveSearch} Flight Recorder event and adds
+ * its counts to {@link SearchMetrics}; the node count is the number of playouts.
+ */
+public class MonteCarloPlayer implements Engine {
+    private static final long DEFAULT_TIME_BUDGET_MS = 500; // Thinking time per move
+    private static final int DEFAULT_TREE_SIZE_BITS = 21;   // 2M nodes (about 40 MB) across all trees
+    private static final long SEED = 0x5DEECE66DL;          // Base seed for the playout random numbers
+
+    private final int totalNodes;             // Node capacity shared out among the trees
+    private long timeBudgetMillis = DEFAULT_TIME_BUDGET_MS;
+    private int threads = 1;                  // Search threads, including the calling thread
+    private MonteCarloTree[] trees = new MonteCarloTree[0];
+    private ExecutorService helperPool;       // Runs the helper trees' playouts; created on first use
+    private volatile SearchResult lastResult; // Outcome of the most recent search
+    private volatile SearchControl activeControl; // Control of the running search, for cancellation
+
+    /**
+     * Constructs a Monte Carlo player with the default tree capacity.
+     */
+    public MonteCarloPlayer() {
+        this(DEFAULT_TREE_SIZE_BITS);
+    }
+
+    /**
+     * Constructs a Monte Carlo player whose trees hold 2^treeSizeBits nodes in total (19 bytes
+     * each), e.g. to bound memory when many players run at once.
+     *
+     * @param treeSizeBits The base-2 logarithm of the total node capacity
+     */
+    public MonteCarloPlayer(int treeSizeBits) {
+        this.totalNodes = 1 << treeSizeBits;
+    }
+
+    /**
+     * Sets the thinking time used by {@link #getBestMove(Board, int, int)}.
+     *
+     * @param timeBudgetMillis The time budget per move in milliseconds
+     */
+    @Override
+    public void setTimeBudget(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Returns the thinking time used by {@link #getBestMove(Board, int, int)}.
+     *
+     * @return The time budget per move in milliseconds
+     */
+    @Override
+    public long getTimeBudget() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Sets the number of threads used per search. Each thread grows its own tree from an equal
+     * share of the node capacity.
+     *
+     * @param threads The number of search threads (at least 1)
+     */
+    @Override
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+        if (threads != this.threads) {
+            shutdown();
+            this.threads = threads;
+        }
+    }
+
+    /**
+     * Returns the outcome of the most recent search.
+     *
+     * @return The last search result, or null if no search has run yet
+     */
+    @Override
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Searches for the best column for the given player within a time and playout budget.
+     *
+     * @param board            The current game board (not modified)
+     * @param discsToWin       The number of discs required to win (M)
+     * @param player           The player to move (1 or 2)
+     * @param timeBudgetMillis The wall-clock budget in milliseconds
+     * @param nodeBudget       The maximum number of playouts across all threads, or 0 for no limit
+     * @return The most visited column, with its estimated score and the playout count
+     */
+    @Override
+    public SearchResult search(Board board, int discsToWin, int player, long timeBudgetMillis, long nodeBudget) {
+        MoveSearchEvent event = new MoveSearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        TacticalCheck.Verdict tactics = TacticalCheck.analyze(board, discsToWin, player);
+        if (tactics.isForced() || board.isFull()) {
+            return finish(event, board, discsToWin, player, 1, new SearchResult(tactics.column(), tactics.score(),
+                    tactics.depth(), tactics.nodes(), 0, 0, (System.nanoTime() - start) / 1_000_000L,
+                    tactics.isForced() ? List.of(tactics.column()) : List.of()));
+        }
+
+        SearchControl control = new SearchControl(timeBudgetMillis, nodeBudget);
+        activeControl = control;
+        MonteCarloTree[] active = ensureTrees();
+        for (MonteCarloTree tree : active) {
+            tree.setRoot(board, discsToWin, player);
+        }
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < active.length; i++) {
+            MonteCarloTree helper = active[i];
+            helpers.add(helperPool.submit(() -> helper.search(control, tactics.candidates())));
+        }
+        active[0].search(control, tactics.candidates());
+        control.stop();
+        awaitHelpers(helpers);
+        activeControl = null;
+
+        // Add up the root statistics of all trees and play the most visited candidate column. A
+        // reused tree may also hold visits to unsafe columns from before this was the root.
+        int size = board.getSize();
+        long[] visits = new long[size];
+        double[] wins = new double[size];
+        boolean[] won = new boolean[size];
+        long playouts = 0;
+        for (MonteCarloTree tree : active) {
+            tree.addRootStatistics(visits, wins, won);
+            playouts += tree.getPlayouts();
+        }
+        int best = -1;
+        for (int col = 0; col < size; col++) {
+            if ((tactics.candidates() & 1 << col) != 0 && visits[col] > 0
+                    && (best == -1 || visits[col] > visits[best])) {
+                best = col;
+            }
+        }
+        int score = 0;
+        List<Integer> line = List.of();
+        if (best != -1) {
+            score = won[best] ? SearchWorker.WIN_SCORE
+                    : (int) Math.round((2 * wins[best] / visits[best] - 1) * 1000);
+            line = Arrays.stream(active[0].principalVariation(best)).boxed().toList();
+        }
+        return finish(event, board, discsToWin, player, active.length, new SearchResult(best, score, line.size(),
+                tactics.nodes() + playouts, 0, 0, (System.nanoTime() - start) / 1_000_000L, line));
+    }
+
+    /**
+     * Cancels the running search, if any, from another thread. The search returns promptly with
+     * the most visited column so far, or column -1 if no playout had finished.
+     */
+    @Override
+    public void cancel() {
+        SearchControl control = activeControl;
+        if (control != null) {
+            control.cancel();
+        }
+    }
+
+    /**
+     * Discards the search trees.
+     */
+    @Override
+    public void reset() {
+        for (MonteCarloTree tree : trees) {
+            tree.clear();
+        }
+    }
+
+    /**
+     * Stops the helper thread pool and releases the trees. The player can still be used
+     * afterwards; both are recreated on the next search.
+     */
+    @Override
+    public void shutdown() {
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+            helperPool = null;
+        }
+        trees = new MonteCarloTree[0];
+    }
+
+    /**
+     * Publishes a finished search: records its metrics, commits its Flight Recorder event and
+     * makes it the last result.
+     *
+     * @param event      The event begun when the search started
+     * @param board      The searched position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player who searched
+     * @param threads    The number of threads that searched
+     * @param result     The search outcome
+     * @return The result
+     */
+    private SearchResult finish(MoveSearchEvent event, Board board, int discsToWin, int player, int threads,
+                                SearchResult result) {
+        SearchMetrics.record(result);
+        event.complete(board, discsToWin, player, threads, result);
+        lastResult = result;
+        return result;
+    }
+
+    /**
+     * Creates the trees and helper pool for the configured thread count if needed.
+     *
+     * @return The trees for the next search
+     */
+    private MonteCarloTree[] ensureTrees() {
+        if (trees.length == threads) return trees;
+        trees = new MonteCarloTree[threads];
+        for (int i = 0; i < threads; i++) {
+            trees[i] = new MonteCarloTree(totalNodes / threads, SEED + i);
+        }
+        if (threads > 1 && helperPool == null) {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            helperPool = Executors.newFixedThreadPool(threads - 1, task -> {
+                Thread thread = new Thread(task, "connectm-mcts-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return trees;
+    }
+
+    /**
+     * Waits for the helper trees to finish their playouts after the search has been stopped.
+     *
+     * @param helpers The helper tasks
+     */
+    private void awaitHelpers(List<Future<?>> helpers) {
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Helper search failed", e.getCause());
+            }
+        }
+    }
+}
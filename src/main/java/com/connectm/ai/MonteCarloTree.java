@@ -0,0 +1,371 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * One thread's Monte Carlo search tree (UCT), stored in an arena of parallel primitive arrays.
+ * <p>
+ * A node is an index into the arrays. When a node is expanded, all of its children are allocated
+ * next to each other, center columns first, so a node only records its first child and child
+ * count. Each node counts its visits and the results of the playouts through it, from the point
+ * of view of the player who made the move leading to it (1 for a win, 0.5 for a draw).
+ * Children whose move wins, or fills the board, are marked terminal when they are created.
+ * <p>
+ * Playouts are lightly guided: the player to move takes an immediate win if there is one, blocks
+ * the opponent's immediate win if there is one, and otherwise plays a random column.
+ * <p>
+ * Between moves the tree is kept: the next search starts from the node for the new position if
+ * it lies within two plies of the old root, so the statistics gathered for it are reused. Nodes
+ * outside the new subtree stay allocated until the arena is half full, when the tree is rebuilt.
+ */
+class MonteCarloTree {
+    private static final double EXPLORATION = 1.4; // UCT exploration constant, about sqrt(2)
+    private static final int REPORT_INTERVAL = 64; // Playouts between budget checks
+    private static final byte OPEN = 0;            // Node's position is not decided
+    private static final byte WON = 1;             // The move into the node won the game
+    private static final byte DRAWN = 2;           // The move into the node filled the board
+
+    private final int capacity;       // Maximum number of nodes
+    private final int[] parent;       // Parent node, -1 for the root
+    private final int[] firstChild;   // First child node, -1 if not expanded
+    private final byte[] childCount;  // Number of children
+    private final byte[] column;      // Column of the move leading to the node
+    private final byte[] outcome;     // OPEN, WON or DRAWN
+    private final int[] visits;       // Playouts through the node
+    private final float[] wins;       // Playout results for the player who moved into the node
+    private final SplittableRandom random;
+    private final int[] path = new int[128];     // Columns played from the root this iteration
+    private final int[] legal = new int[16];     // Scratch list of playable columns
+    private int size;                 // Nodes allocated
+    private int root = -1;            // Root node, or -1 before the first search
+    private Board rootBoard;          // Position at the root
+    private int rootPlayer;           // Player to move at the root
+    private int discsToWin;           // Number of discs needed to win (M)
+    private Board board;              // Scratch copy of the root position
+    private long playouts;            // Playouts in the current search
+
+    /**
+     * Constructs an empty tree.
+     *
+     * @param capacity The maximum number of nodes
+     * @param seed     The seed for the playout random numbers
+     */
+    MonteCarloTree(int capacity, long seed) {
+        this.capacity = capacity;
+        this.parent = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.childCount = new byte[capacity];
+        this.column = new byte[capacity];
+        this.outcome = new byte[capacity];
+        this.visits = new int[capacity];
+        this.wins = new float[capacity];
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Moves the root to the given position, reusing the subtree for it when the position follows
+     * the previous root by at most two moves.
+     *
+     * @param position   The position to search (copied, not modified)
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     */
+    void setRoot(Board position, int discsToWin, int player) {
+        int node = size <= capacity / 2 ? findDescendant(position, discsToWin, player) : -1;
+        if (node == -1) {
+            clear();
+            node = allocate(-1, 0, OPEN);
+        }
+        root = node;
+        parent[root] = -1;
+        rootBoard = new Board(position);
+        rootPlayer = player;
+        this.discsToWin = discsToWin;
+        board = new Board(position);
+        playouts = 0;
+    }
+
+    /**
+     * Forgets the whole tree.
+     */
+    void clear() {
+        size = 0;
+        root = -1;
+        rootBoard = null;
+    }
+
+    /**
+     * Runs playouts from the root until the search is stopped.
+     *
+     * @param control    The shared budget and stop state; playouts are reported as nodes
+     * @param candidates Bit mask of the root columns to consider
+     */
+    void search(SearchControl control, int candidates) {
+        while (true) {
+            for (int i = 0; i < REPORT_INTERVAL; i++) {
+                iterate(candidates);
+            }
+            playouts += REPORT_INTERVAL;
+            if (control.report(REPORT_INTERVAL)) break;
+        }
+    }
+
+    /**
+     * Returns the number of playouts in the current search.
+     *
+     * @return The playout count
+     */
+    long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Adds the root children's statistics into per-column totals, for merging the trees of
+     * several threads.
+     *
+     * @param columnVisits Visits per column, added to
+     * @param columnWins   Results per column for the player to move, added to
+     * @param columnWon    Set for columns whose move wins at once
+     */
+    void addRootStatistics(long[] columnVisits, double[] columnWins, boolean[] columnWon) {
+        for (int child = firstChild[root]; child != -1 && child < firstChild[root] + childCount[root]; child++) {
+            columnVisits[column[child]] += visits[child];
+            columnWins[column[child]] += wins[child];
+            columnWon[column[child]] |= outcome[child] == WON;
+        }
+    }
+
+    /**
+     * Follows the most visited child from the root, starting with the given column.
+     *
+     * @param first The column chosen at the root
+     * @return The columns of the most visited line
+     */
+    int[] principalVariation(int first) {
+        int[] line = new int[path.length];
+        int length = 0;
+        int node = childFor(root, first);
+        if (node == -1) return new int[]{first};
+        while (node != -1) {
+            line[length++] = column[node];
+            int best = -1;
+            for (int i = 0; i < childCount[node] && firstChild[node] != -1; i++) {
+                int child = firstChild[node] + i;
+                if (visits[child] > 0 && (best == -1 || visits[child] > visits[best])) {
+                    best = child;
+                }
+            }
+            node = best;
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Runs one iteration: select a leaf by UCT, expand it if it was visited before, play it out
+     * and back the result up to the root.
+     *
+     * @param candidates Bit mask of the root columns to consider
+     */
+    private void iterate(int candidates) {
+        int node = root;
+        int mover = rootPlayer;
+        int depth = 0;
+        while (firstChild[node] != -1) {
+            node = select(node, node == root ? candidates : -1);
+            board.dropPiece(column[node], mover);
+            path[depth++] = column[node];
+            mover = 3 - mover;
+        }
+
+        double result; // For the player who moved into the node
+        if (outcome[node] == WON) {
+            result = 1;
+        } else if (outcome[node] == DRAWN) {
+            result = 0.5;
+        } else {
+            if ((visits[node] > 0 || node == root) && expand(node, mover)) {
+                node = firstChild[node] + random.nextInt(childCount[node]);
+                board.dropPiece(column[node], mover);
+                path[depth++] = column[node];
+                mover = 3 - mover;
+            }
+            result = outcome[node] == WON ? 1 : outcome[node] == DRAWN ? 0.5 : playout(mover);
+        }
+
+        for (; node != -1; node = parent[node]) {
+            visits[node]++;
+            wins[node] += (float) result;
+            result = 1 - result;
+        }
+        for (int i = depth - 1; i >= 0; i--) {
+            board.removePiece(path[i]);
+        }
+    }
+
+    /**
+     * Picks the child with the highest UCT value. Unvisited children come first, and a winning
+     * move is always taken.
+     *
+     * @param node       An expanded node
+     * @param candidates Bit mask of the columns allowed, -1 for all
+     * @return The chosen child
+     */
+    private int select(int node, int candidates) {
+        double logVisits = Math.log(Math.max(1, visits[node]));
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+            if ((candidates & 1 << column[child]) == 0) continue;
+            if (outcome[child] == WON) return child;
+            double value = visits[child] == 0 ? Double.POSITIVE_INFINITY
+                    : wins[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best == -1 ? firstChild[node] : best;
+    }
+
+    /**
+     * Allocates a child for every playable column of a leaf, center columns first.
+     *
+     * @param node  The leaf, whose position is on the scratch board
+     * @param mover The player to move at the leaf
+     * @return false if the arena is full or the leaf has no moves
+     */
+    private boolean expand(int node, int mover) {
+        int n = board.getSize();
+        if (size + n > capacity || board.isFull()) return false;
+        int first = size;
+        boolean filling = board.getDiscCount() + 1 == n * n; // The next disc fills the board
+        for (int i = 0; i < n; i++) {
+            int col = (n - 1) / 2 + ((i & 1) == 0 ? -i / 2 : (i + 1) / 2);
+            if (board.isColumnFull(col)) continue;
+            byte result = board.winsAt(col, mover, discsToWin) ? WON : filling ? DRAWN : OPEN;
+            allocate(node, col, result);
+        }
+        firstChild[node] = first;
+        childCount[node] = (byte) (size - first);
+        return true;
+    }
+
+    /**
+     * Plays random, lightly guided moves until the game ends, then takes them back.
+     *
+     * @param mover The player to move
+     * @return The result for the player who is not to move: 1 for a win, 0.5 for a draw, 0 for a loss
+     */
+    private double playout(int mover) {
+        int leafMover = 3 - mover;
+        int start = board.getDiscCount();
+        int winner = 0;
+        while (!board.isFull()) {
+            int col = choose(mover);
+            board.dropPiece(col, mover);
+            if (board.wonByLastMove(discsToWin)) {
+                winner = mover;
+                break;
+            }
+            mover = 3 - mover;
+        }
+        while (board.getDiscCount() > start) {
+            board.removePiece(board.getLastMoveColumn());
+        }
+        return winner == 0 ? 0.5 : winner == leafMover ? 1 : 0;
+    }
+
+    /**
+     * Chooses a playout move: an immediate win, else a block of the opponent's immediate win,
+     * else a random playable column.
+     *
+     * @param mover The player to move
+     * @return The column
+     */
+    private int choose(int mover) {
+        int count = 0;
+        for (int col = 0; col < board.getSize(); col++) {
+            if (!board.isColumnFull(col)) {
+                legal[count++] = col;
+            }
+        }
+        int block = -1;
+        for (int i = 0; i < count; i++) {
+            int col = legal[i];
+            if (board.winsAt(col, mover, discsToWin)) return col;
+            if (block == -1 && board.winsAt(col, 3 - mover, discsToWin)) block = col;
+        }
+        return block != -1 ? block : legal[random.nextInt(count)];
+    }
+
+    /**
+     * Looks for the node of a position within two plies below the current root.
+     *
+     * @param position   The new position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move in the new position
+     * @return The node, or -1 if it is not in the tree
+     */
+    private int findDescendant(Board position, int discsToWin, int player) {
+        if (root == -1 || rootBoard.getSize() != position.getSize() || this.discsToWin != discsToWin) return -1;
+        int plies = position.getDiscCount() - rootBoard.getDiscCount();
+        if (plies == 0) {
+            return rootBoard.getHash() == position.getHash() && rootPlayer == player ? root : -1;
+        }
+        if (plies > 2 || (plies == 1) == (rootPlayer == player)) return -1;
+        Board probe = new Board(rootBoard);
+        for (int i = 0; i < childCount[root] && firstChild[root] != -1; i++) {
+            int child = firstChild[root] + i;
+            probe.dropPiece(column[child], rootPlayer);
+            if (plies == 1 && probe.getHash() == position.getHash()) return child;
+            if (plies == 2 && firstChild[child] != -1) {
+                for (int j = 0; j < childCount[child]; j++) {
+                    int grandchild = firstChild[child] + j;
+                    probe.dropPiece(column[grandchild], 3 - rootPlayer);
+                    boolean found = probe.getHash() == position.getHash();
+                    probe.removePiece(column[grandchild]);
+                    if (found) return grandchild;
+                }
+            }
+            probe.removePiece(column[child]);
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the child of a node reached by playing a column.
+     *
+     * @param node An expanded node, or a leaf
+     * @param col  The column
+     * @return The child, or -1 if there is none
+     */
+    private int childFor(int node, int col) {
+        for (int i = 0; i < childCount[node] && firstChild[node] != -1; i++) {
+            if (column[firstChild[node] + i] == col) return firstChild[node] + i;
+        }
+        return -1;
+    }
+
+    /**
+     * Allocates a node with no statistics.
+     *
+     * @param parentNode The parent, or -1 for a root
+     * @param col        The column of the move leading to the node
+     * @param result     OPEN, WON or DRAWN
+     * @return The new node
+     */
+    private int allocate(int parentNode, int col, byte result) {
+        int node = size++;
+        parent[node] = parentNode;
+        firstChild[node] = -1;
+        childCount[node] = 0;
+        column[node] = (byte) col;
+        outcome[node] = result;
+        visits[node] = 0;
+        wins[node] = 0;
+        return node;
+    }
+}
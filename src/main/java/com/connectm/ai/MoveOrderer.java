@@ -0,0 +1,164 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Orders the legal columns at each search node so alpha-beta sees the likely best move first.
+ * <p>
+ * Columns are ranked by, in priority order: the transposition table's best move, the two killer
+ * moves recorded at the same ply, and the history score of the cell the disc would land in, with
+ * a small center-first bonus breaking ties. All buffers are preallocated per ply, so ordering
+ * does not allocate during the search.
+ */
+class MoveOrderer {
+    private static final int TABLE_MOVE_SCORE = 1 << 30;   // Always searched first
+    private static final int KILLER_SCORE = 1 << 29;       // Above any history score
+    private static final int HISTORY_LIMIT = 1 << 20;      // History is halved when it reaches this
+
+    private final int size;            // Board size (N)
+    private final int[] centerBonus;   // Per-column bonus, highest in the middle
+    private final int[][] moves;       // Ordered legal columns, per ply
+    private final int[][] scores;      // Ordering scores matching moves, per ply
+    private final int[][] killers;     // Two most recent cutoff columns, per ply (-1 = none)
+    private final int[][] history;     // Cutoff history, indexed by player and cell (row * N + col)
+    private boolean enabled = true;    // When false, columns are tried left to right
+
+    /**
+     * Constructs an orderer for boards of the given size.
+     *
+     * @param size The board size (N)
+     */
+    MoveOrderer(int size) {
+        this.size = size;
+        int maxPly = size * size + 1;
+        this.centerBonus = new int[size];
+        for (int col = 0; col < size; col++) {
+            centerBonus[col] = size - Math.abs(2 * col - (size - 1));
+        }
+        this.moves = new int[maxPly][size];
+        this.scores = new int[maxPly][size];
+        this.killers = new int[maxPly][2];
+        this.history = new int[3][size * size];
+        for (int[] pair : killers) {
+            Arrays.fill(pair, -1);
+        }
+    }
+
+    /**
+     * Returns the board size this orderer was built for.
+     *
+     * @return The board size (N)
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Enables or disables the heuristics; when disabled only the table move is moved to the front.
+     *
+     * @param enabled true to use killer, history and center ordering
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Prepares for a new search: clears the killers and ages the history scores so recent
+     * cutoffs count more than old ones.
+     */
+    void newSearch() {
+        for (int[] pair : killers) {
+            Arrays.fill(pair, -1);
+        }
+        ageHistory();
+    }
+
+    /**
+     * Fills the move buffer for a ply with the legal columns, best candidates first.
+     *
+     * @param board     The current game board
+     * @param ply       The distance from the search root
+     * @param tableMove The transposition table's best column, or -1
+     * @param player    The player about to move (1 or 2)
+     * @return The number of legal columns; read them from {@link #moves(int)}
+     */
+    int orderMoves(Board board, int ply, int tableMove, int player) {
+        int[] plyMoves = moves[ply];
+        int[] plyScores = scores[ply];
+        int count = 0;
+        for (int col = 0; col < size; col++) {
+            if (board.isColumnFull(col)) continue;
+            int score;
+            if (col == tableMove) {
+                score = TABLE_MOVE_SCORE;
+            } else if (!enabled) {
+                score = -col;
+            } else if (col == killers[ply][0]) {
+                score = KILLER_SCORE + 1;
+            } else if (col == killers[ply][1]) {
+                score = KILLER_SCORE;
+            } else {
+                int cell = board.getNextRow(col) * size + col;
+                score = history[player][cell] * 16 + centerBonus[col];
+            }
+
+            // Insertion sort: the lists are at most N long
+            int i = count++;
+            while (i > 0 && plyScores[i - 1] < score) {
+                plyMoves[i] = plyMoves[i - 1];
+                plyScores[i] = plyScores[i - 1];
+                i--;
+            }
+            plyMoves[i] = col;
+            plyScores[i] = score;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the move buffer filled by the last {@link #orderMoves} call for a ply.
+     *
+     * @param ply The distance from the search root
+     * @return The ordered columns
+     */
+    int[] moves(int ply) {
+        return moves[ply];
+    }
+
+    /**
+     * Records a move that caused a beta cutoff, promoting it as a killer for the ply and raising
+     * its history score.
+     *
+     * @param ply    The distance from the search root
+     * @param player The player who made the move (1 or 2)
+     * @param row    The row the disc landed in
+     * @param col    The column played
+     * @param depth  The remaining depth at the node; deeper cutoffs weigh more
+     */
+    void recordCutoff(int ply, int player, int row, int col, int depth) {
+        if (!enabled) return;
+        int[] pair = killers[ply];
+        if (pair[0] != col) {
+            pair[1] = pair[0];
+            pair[0] = col;
+        }
+        int cell = row * size + col;
+        history[player][cell] += depth * depth;
+        if (history[player][cell] >= HISTORY_LIMIT) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * Halves every history score.
+     */
+    private void ageHistory() {
+        for (int[] playerHistory : history) {
+            for (int i = 0; i < playerHistory.length; i++) {
+                playerHistory[i] >>= 1;
+            }
+        }
+    }
+}
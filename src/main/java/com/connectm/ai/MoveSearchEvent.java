@@ -0,0 +1,77 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for every move decision. The event's duration is the time
+ * spent searching. Recording is off unless a JFR recording enables it (e.g.
+ * {@code -XX:StartFlightRecording}), in which case committing costs a few field writes per move.
+ */
+@Name("com.connectm.MoveSearch")
+@Label("Move Search")
+@Category({"Connect M", "Search"})
+@Description("One AI move decision")
+@StackTrace(false)
+class MoveSearchEvent extends Event {
+    @Label("Board Size")
+    int boardSize;
+
+    @Label("Discs To Win")
+    int discsToWin;
+
+    @Label("Player")
+    int player;
+
+    @Label("Threads")
+    int threads;
+
+    @Label("Column")
+    int column;
+
+    @Label("Score")
+    int score;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Leaf Evaluations")
+    long evaluations;
+
+    @Label("Beta Cutoffs")
+    long cutoffs;
+
+    /**
+     * Ends the event and, if a recording wants it, fills in the outcome and commits it.
+     *
+     * @param board      The searched position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player who searched
+     * @param threads    The number of threads that searched
+     * @param result     The search outcome
+     */
+    void complete(Board board, int discsToWin, int player, int threads, SearchResult result) {
+        end();
+        if (shouldCommit()) {
+            boardSize = board.getSize();
+            this.discsToWin = discsToWin;
+            this.player = player;
+            this.threads = threads;
+            column = result.column();
+            score = result.score();
+            depth = result.depth();
+            nodes = result.nodes();
+            evaluations = result.evaluations();
+            cutoffs = result.cutoffs();
+            commit();
+        }
+    }
+}
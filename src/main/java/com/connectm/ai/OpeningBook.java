@@ -0,0 +1,234 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A read-only table of precomputed opening moves, memory-mapped from a binary file.
+ * <p>
+ * The file starts with a 16-byte header (magic {@code CMBK}, format version, entry count and a
+ * reserved word) followed by 16-byte entries sorted by key: the position key, the score, the
+ * column and the depth it was searched to. The key combines the smaller of the position's hash
+ * and its mirror's hash with the board shape and the player to move, so one book holds every
+ * (N, M) and both sides; columns are stored for the orientation with the smaller hash and
+ * mirrored back on lookup. A lookup is a binary search over the mapped file.
+ * <p>
+ * Books are produced offline with {@link Writer}, e.g. by the {@code BuildOpeningBook} tool.
+ */
+public class OpeningBook {
+    private static final int MAGIC = 0x434D424B; // "CMBK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_BYTES = 16;
+    private static final long[] MOVER_KEYS = {0L, 0x2127599BF4325C37L, 0x880355F21E6D1F4BL};
+
+    private final ByteBuffer entries; // Mapped entries, after the header
+    private final int count;          // Number of entries
+
+    /**
+     * A book move.
+     *
+     * @param column The column to play (0 to N-1)
+     * @param score  The score the search found, from the mover's point of view
+     * @param depth  The depth the position was searched to
+     */
+    public record BookMove(int column, int score, int depth) {
+    }
+
+    /**
+     * Wraps a validated mapping of a book file.
+     *
+     * @param buffer The mapped file
+     * @param count  The number of entries
+     */
+    private OpeningBook(ByteBuffer buffer, int count) {
+        this.entries = buffer;
+        this.count = count;
+    }
+
+    /**
+     * Returns the default book file, {@code .connectm/opening-book.bin} in the user's home.
+     *
+     * @return The path of the default book file
+     */
+    public static Path defaultFile() {
+        return Path.of(System.getProperty("user.home"), ".connectm", "opening-book.bin");
+    }
+
+    /**
+     * Memory-maps a book file and checks its header.
+     *
+     * @param file The book file
+     * @return The book
+     * @throws IOException If the file cannot be read, or is not a book of a supported version
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            int version = buffer.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported opening book version " + version + ": " + file);
+            }
+            int count = buffer.getInt(8);
+            if (count < 0 || HEADER_BYTES + (long) count * ENTRY_BYTES != length) {
+                throw new IOException("Truncated opening book: " + file);
+            }
+            return new OpeningBook(buffer.position(HEADER_BYTES).slice(), count);
+        }
+    }
+
+    /**
+     * Returns the number of positions in the book.
+     *
+     * @return The entry count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Looks up the book move for a position.
+     *
+     * @param board      The position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     * @return The move, or null if the position is not in the book
+     */
+    public BookMove lookup(Board board, int discsToWin, int player) {
+        long key = positionKey(board, discsToWin, player);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = entries.getLong(mid * ENTRY_BYTES);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                int offset = mid * ENTRY_BYTES;
+                int column = entries.get(offset + 12);
+                if (board.getMirrorHash() < board.getHash()) {
+                    column = board.getSize() - 1 - column;
+                }
+                return new BookMove(column, entries.getInt(offset + 8), entries.get(offset + 13));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the book key for a position, also used by the {@link SearchCache}.
+     *
+     * @param board      The position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     * @return The key
+     */
+    static long positionKey(Board board, int discsToWin, int player) {
+        long shape = (board.getSize() * 16L + discsToWin) * 0x9E3779B97F4A7C15L;
+        return Math.min(board.getHash(), board.getMirrorHash()) ^ (shape ^ (shape >>> 29)) ^ MOVER_KEYS[player];
+    }
+
+    /**
+     * Collects book moves and writes them as a book file.
+     */
+    public static class Writer {
+        private final Map<Long, long[]> moves = new TreeMap<>(); // Key -> {column, score, depth}, sorted
+
+        /**
+         * Adds every entry of an existing book, e.g. to extend it with more shapes.
+         *
+         * @param book The book to copy
+         */
+        public void addAll(OpeningBook book) {
+            for (int i = 0; i < book.count; i++) {
+                int offset = i * ENTRY_BYTES;
+                moves.put(book.entries.getLong(offset), new long[]{
+                        book.entries.get(offset + 12), book.entries.getInt(offset + 8), book.entries.get(offset + 13)});
+            }
+        }
+
+        /**
+         * Adds or replaces the move for a position.
+         *
+         * @param board      The position
+         * @param discsToWin The number of discs required to win (M)
+         * @param player     The player to move (1 or 2)
+         * @param move       The move to store
+         */
+        public void add(Board board, int discsToWin, int player, BookMove move) {
+            int column = move.column();
+            if (board.getMirrorHash() < board.getHash()) {
+                column = board.getSize() - 1 - column; // Store for the orientation with the smaller hash
+            }
+            moves.put(positionKey(board, discsToWin, player), new long[]{column, move.score(), move.depth()});
+        }
+
+        /**
+         * Returns the column collected for a position so far.
+         *
+         * @param board      The position
+         * @param discsToWin The number of discs required to win (M)
+         * @param player     The player to move (1 or 2)
+         * @return The column, or -1 if the position has no move yet
+         */
+        public int getColumn(Board board, int discsToWin, int player) {
+            long[] move = moves.get(positionKey(board, discsToWin, player));
+            if (move == null) return -1;
+            int column = (int) move[0];
+            return board.getMirrorHash() < board.getHash() ? board.getSize() - 1 - column : column;
+        }
+
+        /**
+         * Returns the number of positions collected.
+         *
+         * @return The entry count
+         */
+        public int size() {
+            return moves.size();
+        }
+
+        /**
+         * Writes the book, replacing the file if it exists.
+         *
+         * @param file The book file
+         * @throws IOException If the file cannot be written
+         */
+        public void write(Path file) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + moves.size() * ENTRY_BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(moves.size()).putInt(0);
+            for (Map.Entry<Long, long[]> entry : moves.entrySet()) {
+                long[] move = entry.getValue();
+                buffer.putLong(entry.getKey())
+                        .putInt((int) move[1])
+                        .put((byte) move[0])
+                        .put((byte) Math.min(move[2], Byte.MAX_VALUE))
+                        .putShort((short) 0);
+            }
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(file, buffer.array());
+        }
+    }
+}
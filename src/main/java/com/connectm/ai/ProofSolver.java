@@ -0,0 +1,422 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Solves small boards exactly with depth-first proof-number search (df-pn).
+ * <p>
+ * A proof-number search answers a yes/no question: can the attacker force a win? Every node
+ * carries a proof number and a disproof number from the point of view of the player to move: the
+ * minimum number of leaves that must still be resolved to show that the mover reaches its goal
+ * (the attacker wins, or the defender avoids losing), or to show that it does not. The search
+ * always expands the most-proving leaf, re-entering a subtree only while its numbers stay below
+ * thresholds handed down from its parent. Win, draw and loss for the player to move are told
+ * apart by asking the question twice, once with each player as the attacker.
+ * <p>
+ * Proof and disproof numbers live in a fixed-size table, so memory is bounded however long a
+ * proof runs; evicted nodes are simply recomputed. Mirrored positions share entries, as in the
+ * alpha-beta search. Proven outcomes can be kept across runs in a {@link SolverCache}.
+ */
+public class ProofSolver {
+    /**
+     * The value of a position for the player to move.
+     */
+    public enum Outcome {
+        WIN,    // The player to move can force a win
+        DRAW,   // Best play from both sides fills the board without a win
+        LOSS,   // The opponent can force a win
+        UNKNOWN // The budget ran out before a proof was found
+    }
+
+    /**
+     * Receives periodic progress reports from a running proof.
+     */
+    public interface ProgressListener {
+        /**
+         * Called every {@code PROGRESS_INTERVAL} nodes.
+         *
+         * @param nodes    The nodes expanded so far in this solve
+         * @param proof    The root's current proof number
+         * @param disproof The root's current disproof number
+         */
+        void progress(long nodes, int proof, int disproof);
+    }
+
+    public static final int MAX_PLAY_SIZE = 6;         // Largest N where solving during play is worthwhile
+
+    static final int INFINITY = 1 << 28;               // Proof number of a disproven node, and vice versa
+    private static final int DEFAULT_SIZE_BITS = 20;   // 2^20 entries, 20 MB
+    private static final int CHECK_INTERVAL = 1024;    // Nodes between budget checks
+    private static final long PROGRESS_INTERVAL = 1L << 20; // Nodes between progress reports
+
+    // Hashed into table keys so that entries record whose turn it is and who is attacking
+    private static final long[] MOVER_KEYS = {0L, 0x7A3C5E1F9B2D4C68L, 0x1F83D9ABFB41BD6BL};
+    private static final long[] ATTACKER_KEYS = {0L, 0x5BE0CD19137E2179L, 0xCBBB9D5DC1059ED8L};
+
+    private final long[] keys;   // Position key per slot, 0 = empty
+    private final int[] proofs;  // Proof number per slot, for the player to move
+    private final int[] disproofs; // Disproof number per slot, for the player to move
+    private final int[] work;    // Nodes expanded below the slot's position, to decide replacement
+    private final int mask;      // Index mask for a pair of slots
+
+    private int tableSize;                 // Board size (N) the table was filled for, 0 if empty
+    private int tableDiscsToWin;           // Win length (M) the table was filled for
+    private SolverCache cache;             // Proven outcomes kept across runs, or null
+    private ProgressListener listener;     // Receives progress reports, or null
+
+    // State of the running solve
+    private Board board;
+    private int discsToWin;
+    private int attacker;
+    private SearchControl control;
+    private boolean aborted;
+    private long nodes;
+    private long unreportedNodes;
+    private int rootPly;            // Disc count at the root of the running proof
+    private int rootProof;          // The root's latest proof number, for progress reports
+    private int rootDisproof;       // The root's latest disproof number, for progress reports
+    private int[][] childCols;      // Legal columns per ply
+    private long[][] childKeys;     // Table key of each child, or 0 for a finished game
+    private int[][] childProofs;    // Fixed proof number of finished children
+    private int[][] childDisproofs; // Fixed disproof number of finished children
+
+    /**
+     * Constructs a solver with a default-sized table.
+     */
+    public ProofSolver() {
+        this(DEFAULT_SIZE_BITS);
+    }
+
+    /**
+     * Constructs a solver with a table of 2^sizeBits entries (20 bytes each).
+     *
+     * @param sizeBits The base-2 logarithm of the entry count (1 to 28)
+     */
+    public ProofSolver(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 28) {
+            throw new IllegalArgumentException("Table size bits must be between 1 and 28: " + sizeBits);
+        }
+        int entries = 1 << sizeBits;
+        this.keys = new long[entries];
+        this.proofs = new int[entries];
+        this.disproofs = new int[entries];
+        this.work = new int[entries];
+        this.mask = entries - 2;
+    }
+
+    /**
+     * Sets the file cache consulted while solving and updated with each proven root outcome.
+     *
+     * @param cache The cache, or null for none
+     */
+    public void setCache(SolverCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Sets the listener that receives progress reports while a proof runs.
+     *
+     * @param listener The listener, or null for none
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Removes all entries from the table.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(proofs, 0);
+        Arrays.fill(disproofs, 0);
+        Arrays.fill(work, 0);
+        tableSize = 0;
+    }
+
+    /**
+     * Solves a position and finds a move that achieves its value.
+     *
+     * @param board            The position (not modified)
+     * @param discsToWin       The number of discs required to win (M)
+     * @param player           The player to move (1 or 2)
+     * @param timeBudgetMillis The wall-clock budget in milliseconds, or 0 for no limit
+     * @param nodeBudget       The maximum number of nodes to expand, or 0 for no limit
+     * @return The outcome for the player to move and, for a win or draw, a column that keeps it
+     */
+    public SolverResult solve(Board board, int discsToWin, int player, long timeBudgetMillis, long nodeBudget) {
+        SearchControl control = timeBudgetMillis > 0
+                ? new SearchControl(timeBudgetMillis, nodeBudget)
+                : new SearchControl(nodeBudget);
+        return solve(board, discsToWin, player, control);
+    }
+
+    /**
+     * Solves a position under an existing search control, e.g. one that can be cancelled.
+     *
+     * @param root       The position (not modified)
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     * @param control    The budget and stop state
+     * @return The outcome for the player to move and, for a win or draw, a column that keeps it
+     */
+    SolverResult solve(Board root, int discsToWin, int player, SearchControl control) {
+        long start = System.nanoTime();
+        this.board = new Board(root);
+        this.discsToWin = discsToWin;
+        if (tableSize != root.getSize() || tableDiscsToWin != discsToWin) {
+            clear(); // Positions of different shapes can share a hash
+            tableSize = root.getSize();
+            tableDiscsToWin = discsToWin;
+        }
+        this.control = control;
+        this.aborted = false;
+        this.nodes = 0;
+        this.unreportedNodes = 0;
+        int plies = board.getSize() * board.getSize() + 1;
+        if (childCols == null || childCols.length != plies || childCols[0].length != board.getSize()) {
+            childCols = new int[plies][board.getSize()];
+            childKeys = new long[plies][board.getSize()];
+            childProofs = new int[plies][board.getSize()];
+            childDisproofs = new int[plies][board.getSize()];
+        }
+
+        Outcome outcome = outcome(player);
+        int column = -1;
+        if (outcome == Outcome.WIN || outcome == Outcome.DRAW) {
+            column = findMove(player, outcome);
+            if (column == -1) {
+                outcome = Outcome.UNKNOWN; // Ran out of budget while confirming the move
+            }
+        }
+        if (cache != null) {
+            cache.put(board, discsToWin, player, outcome); // Only the root, not the probes of findMove
+        }
+        control.report(unreportedNodes);
+        return new SolverResult(outcome, column, nodes, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Finds the value of the current position for the player to move.
+     *
+     * @param mover The player to move
+     * @return The outcome, or {@link Outcome#UNKNOWN} if the budget ran out
+     */
+    private Outcome outcome(int mover) {
+        if (board.getDiscCount() > 0 && board.wonByLastMove(discsToWin)) return Outcome.LOSS;
+        if (board.isFull()) return Outcome.DRAW;
+        if (cache != null) {
+            Outcome cached = cache.get(board, discsToWin, mover);
+            if (cached != null) return cached;
+        }
+
+        if (prove(mover, mover)) return Outcome.WIN;
+        if (aborted) return Outcome.UNKNOWN;
+        if (prove(mover, 3 - mover)) return Outcome.LOSS;
+        return aborted ? Outcome.UNKNOWN : Outcome.DRAW;
+    }
+
+    /**
+     * Finds a column that keeps the given outcome, trying center columns first.
+     *
+     * @param mover   The player to move
+     * @param outcome {@link Outcome#WIN} or {@link Outcome#DRAW}
+     * @return The column, or -1 if none could be confirmed within the budget
+     */
+    private int findMove(int mover, Outcome outcome) {
+        int size = board.getSize();
+        for (int i = 0; i < size && !aborted; i++) {
+            int col = (size - 1) / 2 + ((i & 1) == 0 ? -i / 2 : (i + 1) / 2); // Center outwards
+            if (board.isColumnFull(col)) continue;
+            board.dropPiece(col, mover);
+            Outcome reply = board.wonByLastMove(discsToWin) ? Outcome.LOSS : outcome(3 - mover);
+            board.removePiece(col);
+            if ((outcome == Outcome.WIN && reply == Outcome.LOSS)
+                    || (outcome == Outcome.DRAW && reply == Outcome.DRAW)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Runs df-pn from the current position to decide whether the attacker can force a win.
+     *
+     * @param mover    The player to move
+     * @param attacker The player trying to win
+     * @return true if the attacker wins; false if it cannot, or if the search was aborted
+     */
+    private boolean prove(int mover, int attacker) {
+        this.attacker = attacker;
+        rootPly = board.getDiscCount();
+        rootProof = 1;
+        rootDisproof = 1;
+        search(mover, INFINITY, INFINITY);
+        // The root's numbers are from the mover's point of view
+        return mover == attacker ? rootProof == 0 : rootDisproof == 0;
+    }
+
+    /**
+     * Expands the current position until its proof or disproof number reaches its threshold.
+     *
+     * @param mover          The player to move
+     * @param proofLimit     Return once the proof number reaches this
+     * @param disproofLimit  Return once the disproof number reaches this
+     */
+    private void search(int mover, int proofLimit, int disproofLimit) {
+        if (countNode()) return;
+        long key = key(mover);
+        int ply = board.getDiscCount();
+        int[] cols = childCols[ply];
+        long[] ckeys = childKeys[ply];
+        int[] cproofs = childProofs[ply];
+        int[] cdisproofs = childDisproofs[ply];
+        long startNodes = nodes;
+
+        // Generate the children once; a winning move settles the node immediately
+        int count = 0;
+        for (int col = 0; col < board.getSize(); col++) {
+            if (board.isColumnFull(col)) continue;
+            if (board.winsAt(col, mover, discsToWin)) {
+                store(key, 0, INFINITY, nodes - startNodes); // The mover reaches its goal either way
+                if (ply == rootPly) {
+                    rootProof = 0;
+                    rootDisproof = INFINITY;
+                }
+                return;
+            }
+            board.dropPiece(col, mover);
+            cols[count] = col;
+            if (board.isFull()) {
+                // A draw is a success for the defender and a failure for the attacker
+                boolean childIsAttacker = 3 - mover == attacker;
+                ckeys[count] = 0L;
+                cproofs[count] = childIsAttacker ? INFINITY : 0;
+                cdisproofs[count] = childIsAttacker ? 0 : INFINITY;
+            } else {
+                ckeys[count] = key(3 - mover);
+            }
+            board.removePiece(col);
+            count++;
+        }
+
+        while (true) {
+            // The mover succeeds if any child fails for the opponent, and fails only if all succeed
+            int proof = INFINITY;
+            long disproof = 0;
+            int best = -1;
+            int secondProof = INFINITY;
+            for (int i = 0; i < count; i++) {
+                int childProof;
+                int childDisproof;
+                if (ckeys[i] == 0L) {
+                    childProof = cproofs[i];
+                    childDisproof = cdisproofs[i];
+                } else {
+                    long slot = find(ckeys[i]);
+                    childProof = slot < 0 ? 1 : proofs[(int) slot];
+                    childDisproof = slot < 0 ? 1 : disproofs[(int) slot];
+                }
+                disproof += childProof;
+                if (childDisproof < proof) {
+                    secondProof = proof;
+                    proof = childDisproof;
+                    best = i;
+                } else if (childDisproof < secondProof) {
+                    secondProof = childDisproof;
+                }
+            }
+            int disproofCapped = (int) Math.min(disproof, INFINITY);
+            if (ply == rootPly) {
+                rootProof = proof;
+                rootDisproof = disproofCapped;
+            }
+            if (proof >= proofLimit || disproofCapped >= disproofLimit || aborted) {
+                store(key, proof, disproofCapped, nodes - startNodes);
+                return;
+            }
+
+            // Descend into the most proving child with thresholds that keep it the best choice
+            long bestSlot = find(ckeys[best]);
+            int bestProof = bestSlot < 0 ? 1 : proofs[(int) bestSlot];
+            int childProofLimit = (int) Math.min(INFINITY, (long) disproofLimit - disproofCapped + bestProof);
+            int childDisproofLimit = Math.min(proofLimit, secondProof + 1);
+            int col = cols[best];
+            board.dropPiece(col, mover);
+            search(3 - mover, childProofLimit, childDisproofLimit);
+            board.removePiece(col);
+            if (aborted) {
+                store(key, proof, disproofCapped, nodes - startNodes);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Builds the table key for the current position, shared with its mirror image.
+     *
+     * @param mover The player to move
+     * @return The table key (never 0)
+     */
+    private long key(int mover) {
+        long key = Math.min(board.getHash(), board.getMirrorHash()) ^ MOVER_KEYS[mover] ^ ATTACKER_KEYS[attacker];
+        return key == 0L ? 1L : key;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key The table key
+     * @return The slot holding the position, or -1 if it is not stored
+     */
+    private long find(long key) {
+        int index = (int) key & mask;
+        if (keys[index] == key) return index;
+        if (keys[index + 1] == key) return index + 1;
+        return -1;
+    }
+
+    /**
+     * Stores a position's numbers. The first slot of a pair keeps the entry with the most work
+     * behind it; the second is always overwritten.
+     *
+     * @param key      The table key
+     * @param proof    The proof number
+     * @param disproof The disproof number
+     * @param effort   The nodes expanded below the position in this visit
+     */
+    private void store(long key, int proof, int disproof, long effort) {
+        int index = (int) key & mask;
+        int slot;
+        if (keys[index + 1] == key) {
+            slot = index + 1;
+        } else if (keys[index] == key || keys[index] == 0L || work[index] <= effort) {
+            slot = index;
+        } else {
+            slot = index + 1;
+        }
+        int previous = keys[slot] == key ? work[slot] : 0;
+        keys[slot] = key;
+        proofs[slot] = proof;
+        disproofs[slot] = disproof;
+        work[slot] = (int) Math.min(Integer.MAX_VALUE, previous + effort);
+    }
+
+    /**
+     * Counts an expanded node, checks the budget every few thousand nodes and reports progress.
+     *
+     * @return true if the search must stop
+     */
+    private boolean countNode() {
+        nodes++;
+        if (++unreportedNodes == CHECK_INTERVAL) {
+            aborted = control.report(unreportedNodes);
+            unreportedNodes = 0;
+        }
+        if (listener != null && nodes % PROGRESS_INTERVAL == 0) {
+            listener.progress(nodes, rootProof, rootDisproof);
+        }
+        return aborted;
+    }
+}
@@ -0,0 +1,309 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the results of deep searches in a memory-mapped file so that positions searched in
+ * earlier sessions are answered without searching again.
+ * <p>
+ * The file starts with a 16-byte header (magic {@code CMSC}, format version, the base-2
+ * logarithm of the slot count and a reserved word) followed by a fixed number of 24-byte slots.
+ * A position goes to the slot picked by its key, the same key the {@link OpeningBook} uses (the
+ * smaller of the position's and its mirror's hash, combined with N, M and the player to move);
+ * a deeper or different result replaces the slot's previous one. Each slot holds the key, the
+ * score, the column, the depth and a checksum over all of them, so a slot torn by a process
+ * killed mid-write reads as empty rather than as a wrong move.
+ * <p>
+ * The file is created or mapped on first use, and only the pages actually looked up are read.
+ * New results are collected in memory and written in batches by a background thread, then
+ * forced to disk; {@link #flush()} writes any pending batch at once, as does a shutdown hook
+ * when the JVM exits normally. I/O problems are reported once on standard error and the cache
+ * then stores nothing more, so they never stop a game.
+ * <p>
+ * Only results searched deeply enough are stored. By default the required depth falls with the
+ * board size, from 14 plies on 5 x 5 to 8 from 8 x 8 up, so that the default 500 ms search
+ * usually qualifies while a stored move is rarely shallower than what a new search would find.
+ */
+public class SearchCache {
+    private static final int MAGIC = 0x434D5343; // "CMSC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = 24;
+    private static final int DEFAULT_SLOT_BITS = 20;      // 1M slots, a 24 MB (sparse) file
+    private static final int MIN_STORED_DEPTH = 8;        // No result shallower than this is stored
+    private static final long WRITE_DELAY_MS = 1000;      // Results are batched for this long
+    private static final long CHECK_SALT = 0x5EA5C4C3E2D1B0A9L; // Makes an all-zero slot invalid
+
+    private final Path file;
+    private final int slotBits;                 // Slot count of a newly created file
+    private final Map<Long, Entry> pending = new LinkedHashMap<>(); // Results not yet written, by key
+    private int minDepth;                       // Results searched less deeply are not stored, 0 = by board size
+    private MappedByteBuffer slots;             // Mapped slots after the header, or null before first use
+    private int slotMask;                       // Slot count - 1
+    private boolean failed;                     // Set once the file cannot be used
+    private ScheduledExecutorService writer;    // Writes pending results; created on first store
+    private boolean flushOnExit;                // Set once the exit hook that flushes is registered
+
+    /**
+     * A cached search result.
+     *
+     * @param key    The position key
+     * @param column The column to play (0 to N-1), for the orientation with the smaller hash
+     * @param score  The score from the mover's point of view
+     * @param depth  The depth the position was searched to
+     */
+    private record Entry(long key, int column, int score, int depth) {
+    }
+
+    /**
+     * Constructs a cache backed by the given file with the default slot count.
+     *
+     * @param file The cache file, created when first used
+     */
+    public SearchCache(Path file) {
+        this(file, DEFAULT_SLOT_BITS);
+    }
+
+    /**
+     * Constructs a cache backed by the given file. An existing file keeps its own slot count.
+     *
+     * @param file     The cache file, created when first used
+     * @param slotBits The base-2 logarithm of the slot count of a new file
+     */
+    public SearchCache(Path file, int slotBits) {
+        this.file = file;
+        this.slotBits = slotBits;
+    }
+
+    /**
+     * Returns the default cache file, {@code .connectm/search-cache.bin} in the user's home.
+     *
+     * @return The path of the default cache file
+     */
+    public static Path defaultFile() {
+        return Path.of(System.getProperty("user.home"), ".connectm", "search-cache.bin");
+    }
+
+    /**
+     * Sets the depth a search must reach for its result to be stored.
+     *
+     * @param depth The minimum depth, or 0 to pick it from the board size (the default)
+     */
+    public synchronized void setMinDepth(int depth) {
+        this.minDepth = depth;
+    }
+
+    /**
+     * Looks up the stored result for a position.
+     *
+     * @param board      The position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     * @return The result as a book move (column, score, depth), or null if none is stored
+     */
+    public synchronized OpeningBook.BookMove get(Board board, int discsToWin, int player) {
+        long key = OpeningBook.positionKey(board, discsToWin, player);
+        Entry entry = pending.get(key);
+        if (entry == null && map()) {
+            entry = read(slotIndex(key));
+            if (entry != null && entry.key() != key) {
+                entry = null;
+            }
+        }
+        if (entry == null) return null;
+        int column = entry.column();
+        if (board.getMirrorHash() < board.getHash()) {
+            column = board.getSize() - 1 - column;
+        }
+        return new OpeningBook.BookMove(column, entry.score(), entry.depth());
+    }
+
+    /**
+     * Records a search result if it is deep enough. It is written to the file by the background
+     * writer shortly afterwards.
+     *
+     * @param board      The searched position
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player who searched (1 or 2)
+     * @param result     The search outcome
+     */
+    public synchronized void put(Board board, int discsToWin, int player, SearchResult result) {
+        if (failed || result.column() == -1 || result.depth() < minDepth(board.getSize())) return;
+        int column = result.column();
+        if (board.getMirrorHash() < board.getHash()) {
+            column = board.getSize() - 1 - column; // Store for the orientation with the smaller hash
+        }
+        long key = OpeningBook.positionKey(board, discsToWin, player);
+        Entry previous = pending.get(key);
+        if (previous != null && previous.depth() > result.depth()) return;
+        pending.put(key, new Entry(key, column, result.score(), Math.min(result.depth(), Byte.MAX_VALUE)));
+        if (writer == null) {
+            writer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "connectm-cache-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (!flushOnExit) {
+            // The writer is a daemon, so pending results would be lost on any exit that skips close()
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "connectm-cache-flush"));
+            flushOnExit = true;
+        }
+        if (pending.size() == 1) {
+            writer.schedule(this::flush, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending results to the file and forces them to disk.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+        if (!map()) {
+            pending.clear(); // The file is unusable, so nothing more will be written
+            return;
+        }
+        List<Entry> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        for (Entry entry : batch) {
+            int slot = slotIndex(entry.key());
+            Entry current = read(slot);
+            if (current == null || current.key() != entry.key() || current.depth() <= entry.depth()) {
+                write(slot, entry);
+            }
+        }
+        slots.force();
+    }
+
+    /**
+     * Writes any pending results and stops the background writer. The cache can still be used
+     * afterwards.
+     */
+    public synchronized void close() {
+        flush();
+        if (writer != null) {
+            writer.shutdownNow();
+            writer = null;
+        }
+    }
+
+    /**
+     * Returns the depth a result on a board of the given size must reach to be stored.
+     *
+     * @param size The board size (N)
+     * @return The configured minimum depth, or one falling with the board size by default
+     */
+    private int minDepth(int size) {
+        return minDepth > 0 ? minDepth : Math.max(MIN_STORED_DEPTH, 24 - 2 * size);
+    }
+
+    /**
+     * Maps the file on first use, creating it if needed.
+     *
+     * @return true if the slots are mapped, false if the file cannot be used
+     */
+    private boolean map() {
+        if (slots != null) return true;
+        if (failed) return false;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                int bits = slotBits;
+                if (channel.size() > 0) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                    channel.read(header, 0);
+                    if (header.position() < HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                        throw new IOException("not a search cache of version " + VERSION);
+                    }
+                    bits = header.getInt(8);
+                    if (bits < 1 || bits > 26 || channel.size() != HEADER_BYTES + ((long) SLOT_BYTES << bits)) {
+                        throw new IOException("truncated search cache");
+                    }
+                }
+                // Mapping past the end of a new file extends it (sparsely) to the full size
+                long length = HEADER_BYTES + ((long) SLOT_BYTES << bits);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                if (buffer.getInt(0) != MAGIC) {
+                    buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, bits).putInt(12, 0);
+                }
+                slots = buffer.position(HEADER_BYTES).slice();
+                slotMask = (1 << bits) - 1;
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Cannot use search cache " + file + ": " + e.getMessage());
+            failed = true;
+            return false;
+        }
+    }
+
+    /**
+     * Reads a slot.
+     *
+     * @param slot The slot index
+     * @return The entry, or null if the slot is empty or fails its checksum
+     */
+    private Entry read(int slot) {
+        int offset = slot * SLOT_BYTES;
+        long key = slots.getLong(offset);
+        long data = slots.getLong(offset + 8);
+        if (slots.getLong(offset + 16) != checksum(key, data)) return null;
+        return new Entry(key, (int) (data >>> 8) & 0xFF, (int) (data >> 32), (int) data & 0xFF);
+    }
+
+    /**
+     * Writes a slot: key, packed data (score, column, depth), then the checksum of both.
+     *
+     * @param slot  The slot index
+     * @param entry The entry to store
+     */
+    private void write(int slot, Entry entry) {
+        int offset = slot * SLOT_BYTES;
+        long data = (long) entry.score() << 32 | (entry.column() & 0xFF) << 8 | entry.depth() & 0xFF;
+        slots.putLong(offset, entry.key());
+        slots.putLong(offset + 8, data);
+        slots.putLong(offset + 16, checksum(entry.key(), data));
+    }
+
+    /**
+     * Picks the slot for a key.
+     *
+     * @param key The position key
+     * @return The slot index
+     */
+    private int slotIndex(long key) {
+        return (int) (key ^ (key >>> 32)) & slotMask;
+    }
+
+    /**
+     * Mixes a slot's contents into a checksum. An all-zero slot never passes the check.
+     *
+     * @param key  The position key
+     * @param data The packed score, column and depth
+     * @return The checksum
+     */
+    private static long checksum(long key, long data) {
+        long h = (key ^ CHECK_SALT) * 0x9E3779B97F4A7C15L + data;
+        h = (h ^ (h >>> 31)) * 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29) ^ CHECK_SALT;
+    }
+}
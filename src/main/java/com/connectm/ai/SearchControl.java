@@ -0,0 +1,113 @@
+package com.connectm.ai;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget and stop state shared by all workers taking part in one search. A control may have a
+ * parent, e.g. one per phase of a move search: cancelling the parent cancels it too.
+ */
+class SearchControl {
+    private final SearchControl parent;                // Control whose cancellation also cancels this one, or null
+    private final boolean timed;                       // False for searches that run until stopped
+    private final long deadline;                       // System.nanoTime() after which the search stops
+    private final long nodeLimit;                      // Total node count after which the search stops, 0 = unlimited
+    private final AtomicLong nodes = new AtomicLong(); // Nodes reported by all workers so far
+    private volatile boolean stopped;                  // Set once any stop condition is reached
+    private volatile boolean cancelled;                // Set when the caller abandons the search
+
+    /**
+     * Constructs the control state for a search starting now.
+     *
+     * @param timeBudgetMillis The wall-clock budget in milliseconds
+     * @param nodeLimit        The total node budget across workers, or 0 for no limit
+     */
+    SearchControl(long timeBudgetMillis, long nodeLimit) {
+        this(null, timeBudgetMillis, nodeLimit);
+    }
+
+    /**
+     * Constructs the control state for one phase of a search starting now, which is cancelled
+     * along with its parent.
+     *
+     * @param parent           The control of the whole search
+     * @param timeBudgetMillis The wall-clock budget of this phase in milliseconds
+     * @param nodeLimit        The total node budget of this phase, or 0 for no limit
+     */
+    SearchControl(SearchControl parent, long timeBudgetMillis, long nodeLimit) {
+        this.parent = parent;
+        this.timed = true;
+        this.deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Constructs the control state for a search without budgets, which runs until it is
+     * stopped or cancelled (e.g. pondering).
+     */
+    SearchControl() {
+        this(0);
+    }
+
+    /**
+     * Constructs the control state for a search limited only by its node count.
+     *
+     * @param nodeLimit The total node budget, or 0 for no limit
+     */
+    SearchControl(long nodeLimit) {
+        this.parent = null;
+        this.timed = false;
+        this.deadline = 0;
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Adds a worker's recent nodes to the shared total and checks the budgets.
+     *
+     * @param newNodes Nodes visited by the worker since its last report
+     * @return true if the search must stop
+     */
+    boolean report(long newNodes) {
+        long total = nodes.addAndGet(newNodes);
+        if ((timed && System.nanoTime() > deadline) || (nodeLimit > 0 && total >= nodeLimit)) {
+            stopped = true;
+        }
+        if (parent != null && parent.isCancelled()) {
+            cancel();
+        }
+        return stopped;
+    }
+
+    /**
+     * Stops the search, e.g. once the main worker is done.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Abandons the search. Unlike {@link #stop()}, this also interrupts a first iteration that
+     * would otherwise run to completion, so the search may end without a move.
+     */
+    void cancel() {
+        cancelled = true;
+        stopped = true;
+    }
+
+    /**
+     * Checks whether the search has been cancelled.
+     *
+     * @return true if even a guaranteed first iteration should unwind
+     */
+    boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+
+    /**
+     * Checks whether the search has been stopped.
+     *
+     * @return true if workers should unwind
+     */
+    boolean isStopped() {
+        return stopped || (parent != null && parent.isCancelled());
+    }
+}
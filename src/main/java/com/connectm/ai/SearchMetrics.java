@@ -0,0 +1,84 @@
+package com.connectm.ai;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of named counters for the AI, e.g. searches run and nodes visited.
+ * <p>
+ * Workers count into plain fields while searching and the totals are added here once per move,
+ * so the registry costs a handful of uncontended additions per search and can stay enabled.
+ * Headless runs can print {@link #format()}; the GUI can show the last result instead.
+ */
+public final class SearchMetrics {
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private static final LongAdder SEARCHES = counter("searches");       // Completed move searches
+    private static final LongAdder NODES = counter("nodes");             // Positions visited
+    private static final LongAdder EVALUATIONS = counter("evaluations"); // Leaf evaluations
+    private static final LongAdder CUTOFFS = counter("cutoffs");         // Beta cutoffs
+    private static final LongAdder DEPTH = counter("depth");             // Sum of depths reached
+    private static final LongAdder SEARCH_MILLIS = counter("searchMillis"); // Time spent searching
+
+    private SearchMetrics() {
+    }
+
+    /**
+     * Returns the counter with the given name, registering it on first use.
+     *
+     * @param name The counter name
+     * @return The counter, shared by all callers using the same name
+     */
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Returns the current value of every counter.
+     *
+     * @return The counter values, sorted by name
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    /**
+     * Sets every counter back to zero, e.g. between benchmark phases.
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Formats the counters on one line, with derived averages per search.
+     *
+     * @return A line such as {@code searches=10 nodes=... avgDepth=7.2 nodes/s=...}
+     */
+    public static String format() {
+        StringBuilder line = new StringBuilder();
+        snapshot().forEach((name, value) -> line.append(name).append('=').append(value).append(' '));
+        long searches = SEARCHES.sum();
+        long millis = SEARCH_MILLIS.sum();
+        line.append(String.format("avgDepth=%.1f", searches == 0 ? 0.0 : (double) DEPTH.sum() / searches));
+        line.append(String.format(" nodes/s=%.0f", millis == 0 ? 0.0 : NODES.sum() * 1000.0 / millis));
+        return line.toString();
+    }
+
+    /**
+     * Adds one completed search to the totals.
+     *
+     * @param result The search outcome
+     */
+    static void record(SearchResult result) {
+        SEARCHES.increment();
+        NODES.add(result.nodes());
+        EVALUATIONS.add(result.evaluations());
+        CUTOFFS.add(result.cutoffs());
+        DEPTH.add(result.depth());
+        SEARCH_MILLIS.add(result.elapsedMillis());
+    }
+}
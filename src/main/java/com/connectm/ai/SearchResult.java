@@ -0,0 +1,20 @@
+package com.connectm.ai;
+
+import java.util.List;
+
+/**
+ * A record describing the outcome of one AI move search.
+ *
+ * @param column        The chosen column (0 to N-1), or -1 if no move was possible
+ * @param score         The score of the chosen column from the searching player's point of view
+ * @param depth         The depth (in plies, including the AI's move) of the last completed iteration
+ * @param nodes         The number of positions visited, including the unfinished iteration
+ * @param evaluations   The number of positions scored by the heuristic evaluation
+ * @param cutoffs       The number of alpha-beta cutoffs
+ * @param elapsedMillis The wall-clock time spent searching, in milliseconds
+ * @param principalVariation The expected line of play, starting with the chosen column; may be
+ *                           shorter than the depth, and is empty if no move was found
+ */
+public record SearchResult(int column, int score, int depth, long nodes, long evaluations, long cutoffs,
+                           long elapsedMillis, List<Integer> principalVariation) {
+}
@@ -0,0 +1,781 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Runs an iterative-deepening alpha-beta search on a private copy of the board. Several workers
+ * can search the same position at once (Lazy SMP): they share only the transposition table and
+ * the {@link SearchControl}, so each one's discoveries speed up the others.
+ * <p>
+ * A position and its left-right mirror image have the same value, so both are stored under one
+ * table entry keyed by the smaller of the two hashes, with the best move mirrored as needed. When
+ * the root itself is symmetric (as on the opening moves), only one of each pair of mirrored
+ * columns is searched.
+ * <p>
+ * By default the search is a negamax principal variation search (PVS): the first move at each
+ * node is searched with the full window and the rest with null-window probes that only prove
+ * them worse, re-searching the rare move that turns out better. Each iteration after the first
+ * starts with an aspiration window around the previous score and widens it if the score falls
+ * outside. The plain minimax search is kept for comparison. Both store scores from the AI's
+ * point of view, so they share table entries.
+ * <p>
+ * Once few enough cells are empty, the worker instead searches exactly to the end of the game.
+ * This endgame search uses no heuristic evaluation: a win in k plies scores
+ * {@code WIN_SCORE - k}, so the engine wins as fast as it can and loses as slowly as it can.
+ */
+class SearchWorker {
+    static final int AI_PLAYER = 2;       // Default AI player identifier
+    static final int HUMAN_PLAYER = 1;    // Default human player identifier
+    static final int WIN_SCORE = 1_000_000; // Score for a winning state, above any heuristic score
+    private static final int CHECK_INTERVAL = 1024; // Nodes between budget checks
+    private static final int WIN_THRESHOLD = WIN_SCORE - 200; // Scores beyond this are distance-to-win scores
+    private static final int INFINITY = WIN_SCORE + 1;      // Bound beyond any score, safe to negate
+    private static final int ASPIRATION_WINDOW = 100;       // Half-width of the first window around the last score
+
+    // Hashed into table keys, indexed by the searching player, so that entries record both whose
+    // turn it is and whose point of view the score is from
+    private static final long[] AI_TO_MOVE_KEYS = {0L, 0x2545F4914F6CDD1DL, 0x9E3779B97F4A7C15L};
+    private static final long[] OPPONENT_TO_MOVE_KEYS = {0L, 0xD6E8FEB86659FD93L, 0L};
+    // Marks exact endgame entries, indexed by the player to move; their scores are exact game values
+    private static final long[] ENDGAME_KEYS = {0L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L};
+
+    private final TranspositionTable table; // Shared with the other workers
+    private MoveOrderer orderer;            // Killer/history tables, rebuilt when the board size changes
+    private LineEvaluator evaluator;        // Incremental window scores, rebuilt when N or M changes
+    private Board board;                    // Private copy of the root position
+    private SearchControl control;          // Shared budget and stop flag
+    private int discsToWin;                 // Number of discs needed to win (M)
+    private int aiPlayer;                   // The player this search maximizes for (1 or 2)
+    private int humanPlayer;                // The opponent (1 or 2)
+    private int rootDiscs;                  // Discs on the board at the root, to derive the ply
+    private boolean canAbort;               // False while a guaranteed first iteration runs
+    private boolean aborted;                // Set once the search must stop; unwinds the recursion
+    private long nodes;                     // Positions visited in the current search
+    private long unreportedNodes;           // Nodes not yet added to the shared total
+    private long evaluations;               // Leaf positions scored in the current search
+    private long cutoffs;                   // Alpha-beta cutoffs in the current search
+    private int rootScore;                  // Score of the move returned by the last searchRoot call
+    private int exactThreshold;             // Search exactly once at most this many cells are empty
+    private int rootCandidates;             // Bit mask of the root columns to search
+    private boolean principalVariationSearch = true; // PVS with aspiration windows, or plain minimax
+    private boolean exactResult;            // Whether the last result came from the exact endgame search
+
+    // Result of the last completed iteration
+    private int bestColumn;
+    private int bestScore;
+    private int depthReached;
+
+    // Pondering results: positions after each human reply and the time spent on each
+    private long[] ponderedKeys = new long[0];
+    private long[] ponderedNanos = new long[0];
+
+    /**
+     * Constructs a worker that stores its results in the given table.
+     *
+     * @param table The transposition table shared by all workers
+     */
+    SearchWorker(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Sets the number of empty cells at or below which the worker searches exactly to the end of
+     * the game instead of deepening with the heuristic evaluation.
+     *
+     * @param exactThreshold The empty-cell threshold, or 0 to never search exactly
+     */
+    void setExactThreshold(int exactThreshold) {
+        this.exactThreshold = exactThreshold;
+    }
+
+    /**
+     * Chooses between principal variation search with aspiration windows and plain minimax.
+     *
+     * @param enabled true for PVS (the default), false for minimax
+     */
+    void setPrincipalVariationSearch(boolean enabled) {
+        this.principalVariationSearch = enabled;
+    }
+
+    /**
+     * Restricts the root of the next search to some columns, e.g. those left by the
+     * {@link TacticalCheck}. Cleared by {@link #reset}.
+     *
+     * @param candidates Bit mask of the columns to search; must include a playable column
+     */
+    void setRootCandidates(int candidates) {
+        this.rootCandidates = candidates;
+    }
+
+    /**
+     * Prepares the worker for a new search of the given position.
+     *
+     * @param root         The position to search (copied, not modified)
+     * @param discsToWin   The number of discs required to win (M)
+     * @param player       The player to search for (1 or 2)
+     * @param control      The shared budget and stop state
+     * @param moveOrdering Whether to use killer, history and center ordering
+     */
+    void reset(Board root, int discsToWin, int player, SearchControl control, boolean moveOrdering) {
+        this.board = new Board(root);
+        this.discsToWin = discsToWin;
+        this.aiPlayer = player;
+        this.humanPlayer = 3 - player;
+        this.control = control;
+        if (orderer == null || orderer.size() != root.getSize()) {
+            orderer = new MoveOrderer(root.getSize());
+        }
+        if (evaluator == null || !evaluator.matches(root.getSize(), discsToWin)) {
+            evaluator = new LineEvaluator(root.getSize(), discsToWin);
+        }
+        evaluator.load(root, player);
+        orderer.setEnabled(moveOrdering);
+        orderer.newSearch();
+        rootDiscs = root.getDiscCount();
+        nodes = 0;
+        unreportedNodes = 0;
+        evaluations = 0;
+        cutoffs = 0;
+        aborted = false;
+        rootCandidates = -1;
+        exactResult = false;
+        bestColumn = -1;
+        bestScore = 0;
+        depthReached = 0;
+    }
+
+    /**
+     * Deepens one ply at a time from {@code firstDepth} until the board is exhausted, a forced
+     * result is found, or the search is stopped.
+     *
+     * @param firstDepth    The depth of the first iteration
+     * @param completeFirst true to finish the first iteration regardless of the budget, so that
+     *                      a move is always available
+     */
+    void iterate(int firstDepth, boolean completeFirst) {
+        int maxDepth = board.getSize() * board.getSize() - board.getDiscCount();
+        canAbort = !completeFirst;
+        if (maxDepth <= exactThreshold) {
+            solveEndgame(completeFirst);
+            return;
+        }
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            int column;
+            if (principalVariationSearch && bestColumn != -1 && Math.abs(bestScore) < WIN_SCORE) {
+                int alpha = bestScore - ASPIRATION_WINDOW;
+                int beta = bestScore + ASPIRATION_WINDOW;
+                column = searchRoot(depth, alpha, beta);
+                if (!aborted && (rootScore <= alpha || rootScore >= beta)) {
+                    column = searchRoot(depth, -INFINITY, INFINITY); // Outside the window; search again in full
+                }
+            } else {
+                column = searchRoot(depth, -INFINITY, INFINITY);
+            }
+            if (aborted) break;
+            bestColumn = column;
+            bestScore = rootScore;
+            depthReached = depth;
+            if (Math.abs(bestScore) == WIN_SCORE) break; // Forced result, deeper search won't change it
+            canAbort = true;
+            if (control.isStopped()) break;
+        }
+        control.report(unreportedNodes);
+        unreportedNodes = 0;
+    }
+
+    /**
+     * Searches the remaining game exactly. A guaranteed first move comes from a one-ply heuristic
+     * search, replaced by the exact result once it completes within the budget.
+     *
+     * @param completeFirst true to secure a one-ply move before the exact search
+     */
+    private void solveEndgame(boolean completeFirst) {
+        if (completeFirst) {
+            bestColumn = searchRoot(1, -INFINITY, INFINITY);
+            bestScore = rootScore;
+            depthReached = 1;
+            canAbort = true;
+        }
+        int empties = board.getSize() * board.getSize() - board.getDiscCount();
+        int column = solveRoot();
+        if (!aborted) {
+            bestColumn = column;
+            bestScore = rootScore;
+            depthReached = empties;
+            exactResult = true;
+        }
+        control.report(unreportedNodes);
+        unreportedNodes = 0;
+    }
+
+    /**
+     * Searches the AI's answers to every opponent reply while the opponent is on move. Each iteration
+     * deepens all replies by one ply, most likely replies first, leaving the results in the
+     * shared transposition table. Runs until the board is exhausted or the search is stopped.
+     */
+    void ponder() {
+        canAbort = true;
+        int[] replies = new int[board.getSize()];
+        int replyCount = orderer.orderMoves(board, 0, -1, humanPlayer);
+        System.arraycopy(orderer.moves(0), 0, replies, 0, replyCount);
+        ponderedKeys = new long[replyCount];
+        ponderedNanos = new long[replyCount];
+        boolean[] settled = new boolean[replyCount]; // Reply ends the game or has a forced result
+
+        int maxDepth = board.getSize() * board.getSize() - board.getDiscCount() - 1;
+        for (int depth = 1; depth <= maxDepth && !aborted; depth++) {
+            for (int i = 0; i < replyCount && !aborted; i++) {
+                if (settled[i]) continue;
+                int col = replies[i];
+                int row = board.dropPiece(col, humanPlayer);
+                evaluator.add(row, col, humanPlayer);
+                rootDiscs++;
+                ponderedKeys[i] = board.getHash();
+                if (board.wonByLastMove(discsToWin) || board.isFull()) {
+                    settled[i] = true;
+                } else {
+                    long start = System.nanoTime();
+                    searchRoot(depth, -INFINITY, INFINITY);
+                    ponderedNanos[i] += System.nanoTime() - start;
+                    settled[i] = !aborted && Math.abs(rootScore) == WIN_SCORE;
+                }
+                rootDiscs--;
+                board.removePiece(col);
+                evaluator.remove(row, col, humanPlayer);
+            }
+        }
+        control.report(unreportedNodes);
+        unreportedNodes = 0;
+    }
+
+    /**
+     * Returns the time the last {@link #ponder()} spent on the position with the given hash.
+     *
+     * @param positionKey The Zobrist hash of the position after a human reply
+     * @return The time spent in nanoseconds, or 0 if the position was not pondered
+     */
+    long getPonderedNanos(long positionKey) {
+        for (int i = 0; i < ponderedKeys.length; i++) {
+            if (ponderedKeys[i] == positionKey) {
+                return ponderedNanos[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the best column from the last completed iteration.
+     *
+     * @return The column, or -1 if no iteration completed
+     */
+    int getBestColumn() {
+        return bestColumn;
+    }
+
+    /**
+     * Returns the score of the best column from the last completed iteration.
+     *
+     * @return The score from the AI's point of view
+     */
+    int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Returns the depth of the last completed iteration.
+     *
+     * @return The depth in plies, or 0 if no iteration completed
+     */
+    int getDepthReached() {
+        return depthReached;
+    }
+
+    /**
+     * Returns the number of positions this worker visited in the current search.
+     *
+     * @return The node count
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of leaf positions this worker evaluated in the current search.
+     *
+     * @return The evaluation count
+     */
+    long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the number of alpha-beta cutoffs in this worker's current search.
+     *
+     * @return The cutoff count
+     */
+    long getCutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * Returns the principal variation of the last completed iteration: the best column followed
+     * by the best replies recorded in the table. The line stops early where the table has no
+     * move for a position, e.g. after an entry was overwritten.
+     *
+     * @return The columns of the expected line of play, starting with the AI's move
+     */
+    int[] getPrincipalVariation() {
+        if (bestColumn == -1) return new int[0];
+        int[] line = new int[depthReached];
+        int length = 0;
+        int move = bestColumn;
+        int mover = aiPlayer;
+        while (true) {
+            line[length++] = move;
+            board.dropPiece(move, mover);
+            mover = 3 - mover;
+            if (length == line.length || board.wonByLastMove(discsToWin) || board.isFull()) break;
+            boolean mirrored = board.getMirrorHash() < board.getHash();
+            long sideKey = exactResult ? ENDGAME_KEYS[mover]
+                    : mover == aiPlayer ? AI_TO_MOVE_KEYS[aiPlayer] : OPPONENT_TO_MOVE_KEYS[aiPlayer];
+            long entry = table.probe(tableKey(mirrored, sideKey));
+            move = entry == 0 ? -1 : tableMove(entry, mirrored);
+            if (move == -1 || board.isColumnFull(move)) break;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            board.removePiece(line[i]);
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Searches every AI move at the root to the given depth. With PVS, the score is only exact
+     * if it lies strictly inside the window; otherwise it is a bound and nothing is stored.
+     *
+     * @param depth The number of plies to search, including the AI's move
+     * @param alpha The lower bound of the window (PVS only)
+     * @param beta  The upper bound of the window (PVS only)
+     * @return The best column, or -1 if there is none; its score is left in rootScore
+     */
+    private int searchRoot(int depth, int alpha, int beta) {
+        boolean mirrored = board.getMirrorHash() < board.getHash();
+        long key = tableKey(mirrored, AI_TO_MOVE_KEYS[aiPlayer]);
+        long entry = table.probe(key);
+        int count = orderer.orderMoves(board, 0, entry == 0 ? -1 : tableMove(entry, mirrored), aiPlayer);
+        int[] moves = orderer.moves(0);
+        int bestColumn = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int lastCol = board.getSize() - 1;
+        boolean symmetric = board.isSymmetric();
+
+        for (int i = 0; i < count; i++) {
+            int col = moves[i];
+            if (symmetric && col > lastCol - col) continue; // Same value as the mirrored column
+            if ((rootCandidates & 1 << col) == 0) continue;
+            int row = board.dropPiece(col, aiPlayer);
+            evaluator.add(row, col, aiPlayer);
+            int score;
+            if (!principalVariationSearch) {
+                score = minimax(board, discsToWin, depth - 1, bestScore, Integer.MAX_VALUE, false);
+            } else if (bestColumn == -1) {
+                score = -negamax(depth - 1, -beta, -alpha, humanPlayer);
+            } else {
+                int floor = Math.max(alpha, bestScore);
+                score = -negamax(depth - 1, -floor - 1, -floor, humanPlayer);
+                if (score > floor && score < beta) {
+                    score = -negamax(depth - 1, -beta, -floor, humanPlayer);
+                }
+            }
+            board.removePiece(col); // Undo the move
+            evaluator.remove(row, col, aiPlayer);
+            if (aborted) return -1;
+            if (score > bestScore) {
+                bestScore = score;
+                bestColumn = col;
+            }
+        }
+        boolean exact = !principalVariationSearch || (bestScore > alpha && bestScore < beta);
+        if (bestColumn != -1 && exact) {
+            table.store(key, depth, TranspositionTable.EXACT, bestScore, mirrored ? lastCol - bestColumn : bestColumn);
+        }
+        rootScore = bestScore;
+        return bestColumn;
+    }
+
+    /**
+     * Searches every AI move at the root exactly to the end of the game.
+     *
+     * @return The best column, or -1 if there is none; its score is left in rootScore
+     */
+    private int solveRoot() {
+        int count = orderer.orderMoves(board, 0, -1, aiPlayer);
+        int[] moves = orderer.moves(0);
+        int lastCol = board.getSize() - 1;
+        boolean symmetric = board.isSymmetric();
+        int bestColumn = -1;
+        int alpha = -WIN_SCORE;
+        for (int i = 0; i < count; i++) {
+            int col = moves[i];
+            if (symmetric && col > lastCol - col) continue; // Same value as the mirrored column
+            if ((rootCandidates & 1 << col) == 0) continue;
+            board.dropPiece(col, aiPlayer);
+            int score = board.wonByLastMove(discsToWin) ? WIN_SCORE - 1
+                    : -solve(humanPlayer, 1, -WIN_SCORE, -alpha);
+            board.removePiece(col);
+            if (aborted) return -1;
+            if (score > alpha || bestColumn == -1) {
+                alpha = Math.max(alpha, score);
+                bestColumn = col;
+            }
+        }
+        rootScore = alpha;
+        return bestColumn;
+    }
+
+    /**
+     * Negamax alpha-beta search to the end of the game, without a heuristic evaluation.
+     *
+     * @param mover The player to move
+     * @param ply   The number of plies from the root to this position
+     * @param alpha The lower bound for the mover's score
+     * @param beta  The upper bound for the mover's score
+     * @return The mover's score: {@code WIN_SCORE - k} for a win in k plies from the root,
+     * its negation for a loss, 0 for a draw
+     */
+    private int solve(int mover, int ply, int alpha, int beta) {
+        if (outOfBudget()) return 0;
+        if (board.isFull()) return 0;
+
+        // Fast path: a winning drop ends the search here, before any table or ordering work
+        int size = board.getSize();
+        for (int col = 0; col < size; col++) {
+            if (board.winsAt(col, mover, discsToWin)) return WIN_SCORE - ply - 1;
+        }
+
+        // The mover cannot win before its second move from here, nor lose before the opponent's next
+        int ceiling = WIN_SCORE - ply - 3;
+        if (ceiling <= alpha) return ceiling;
+        beta = Math.min(beta, ceiling);
+
+        boolean mirrored = board.getMirrorHash() < board.getHash();
+        long key = tableKey(mirrored, ENDGAME_KEYS[mover]);
+        long entry = table.probe(key);
+        int tableMove = -1;
+        if (entry != 0) {
+            tableMove = tableMove(entry, mirrored);
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            switch (TranspositionTable.bound(entry)) {
+                case TranspositionTable.EXACT -> {
+                    return score;
+                }
+                case TranspositionTable.LOWER -> alpha = Math.max(alpha, score);
+                default -> beta = Math.min(beta, score);
+            }
+            if (beta <= alpha) return score;
+        }
+
+        int alphaOrig = alpha;
+        int orderPly = board.getDiscCount() - rootDiscs;
+        int count = orderer.orderMoves(board, orderPly, tableMove, mover);
+        int[] moves = orderer.moves(orderPly);
+        int best = -WIN_SCORE;
+        int bestCol = -1;
+        for (int i = 0; i < count; i++) {
+            int col = moves[i];
+            int row = board.dropPiece(col, mover);
+            int score = -solve(3 - mover, ply + 1, -beta, -alpha);
+            board.removePiece(col);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestCol = col;
+            }
+            alpha = Math.max(alpha, score);
+            if (alpha >= beta) {
+                orderer.recordCutoff(orderPly, mover, row, col, 1);
+                cutoffs++;
+                break;
+            }
+        }
+
+        int bound = best <= alphaOrig ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        int empties = size * size - board.getDiscCount();
+        table.store(key, empties, bound, toTable(best, ply), mirrored && bestCol != -1 ? size - 1 - bestCol : bestCol);
+        return best;
+    }
+
+    /**
+     * Converts a root-relative distance-to-win score to one relative to the stored position, so
+     * the entry stays valid wherever in the tree the position recurs.
+     *
+     * @param score The score relative to the root
+     * @param ply   The position's distance from the root
+     * @return The score relative to the position
+     */
+    private static int toTable(int score, int ply) {
+        if (score > WIN_THRESHOLD) return score + ply;
+        if (score < -WIN_THRESHOLD) return score - ply;
+        return score;
+    }
+
+    /**
+     * Converts a stored position-relative score back to one relative to the root.
+     *
+     * @param score The score relative to the stored position
+     * @param ply   The position's distance from the root
+     * @return The score relative to the root
+     */
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_THRESHOLD) return score - ply;
+        if (score < -WIN_THRESHOLD) return score + ply;
+        return score;
+    }
+
+    /**
+     * Principal variation search in negamax form: scores are from the point of view of the
+     * player to move. The first move is searched with the full window, later ones with a null
+     * window around alpha, re-searched in full only if they beat it. Table entries are converted
+     * to and from the AI's point of view, as {@link #minimax} stores them.
+     *
+     * @param depth The remaining depth to search
+     * @param alpha The lower bound for the mover's score
+     * @param beta  The upper bound for the mover's score
+     * @param mover The player to move (1 or 2)
+     * @return The mover's score
+     */
+    private int negamax(int depth, int alpha, int beta, int mover) {
+        if (outOfBudget()) return 0;
+
+        // Only the disc just dropped can have completed a line, and it is the opponent's
+        if (board.wonByLastMove(discsToWin)) return -WIN_SCORE;
+        if (board.isFull()) return 0; // Draw
+        boolean aiToMove = mover == aiPlayer;
+        if (depth == 0) {
+            evaluations++;
+            return aiToMove ? evaluator.score() : -evaluator.score();
+        }
+
+        boolean mirrored = board.getMirrorHash() < board.getHash();
+        long key = tableKey(mirrored, aiToMove ? AI_TO_MOVE_KEYS[aiPlayer] : OPPONENT_TO_MOVE_KEYS[aiPlayer]);
+        long entry = table.probe(key);
+        int tableMove = -1;
+        if (entry != 0) {
+            tableMove = tableMove(entry, mirrored);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = aiToMove ? TranspositionTable.score(entry) : -TranspositionTable.score(entry);
+                int bound = aiToMove ? TranspositionTable.bound(entry) : flip(TranspositionTable.bound(entry));
+                switch (bound) {
+                    case TranspositionTable.EXACT -> {
+                        return score;
+                    }
+                    case TranspositionTable.LOWER -> alpha = Math.max(alpha, score);
+                    default -> beta = Math.min(beta, score);
+                }
+                if (beta <= alpha) return score;
+            }
+        }
+        int alphaOrig = alpha;
+
+        int ply = board.getDiscCount() - rootDiscs;
+        int count = orderer.orderMoves(board, ply, tableMove, mover);
+        int[] moves = orderer.moves(ply);
+        int best = -INFINITY;
+        int bestCol = -1;
+        for (int i = 0; i < count; i++) {
+            int col = moves[i];
+            int row = board.dropPiece(col, mover);
+            evaluator.add(row, col, mover);
+            int score;
+            if (i == 0) {
+                score = -negamax(depth - 1, -beta, -alpha, 3 - mover);
+            } else {
+                score = -negamax(depth - 1, -alpha - 1, -alpha, 3 - mover);
+                if (score > alpha && score < beta) {
+                    score = -negamax(depth - 1, -beta, -alpha, 3 - mover); // Better than expected
+                }
+            }
+            board.removePiece(col); // Undo the move
+            evaluator.remove(row, col, mover);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestCol = col;
+            }
+            alpha = Math.max(alpha, score);
+            if (alpha >= beta) {
+                orderer.recordCutoff(ply, mover, row, col, depth);
+                cutoffs++;
+                break;
+            }
+        }
+
+        int bound = best <= alphaOrig ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, depth, aiToMove ? bound : flip(bound), aiToMove ? best : -best,
+                mirrored && bestCol != -1 ? board.getSize() - 1 - bestCol : bestCol);
+        return best;
+    }
+
+    /**
+     * Swaps a lower bound for an upper bound and vice versa, for a score seen from the other side.
+     *
+     * @param bound A table bound type
+     * @return The bound type from the opponent's point of view
+     */
+    private static int flip(int bound) {
+        return bound == TranspositionTable.LOWER ? TranspositionTable.UPPER
+                : bound == TranspositionTable.UPPER ? TranspositionTable.LOWER
+                : bound;
+    }
+
+    /**
+     * Implements the minimax algorithm with alpha-beta pruning to evaluate the best move.
+     *
+     * @param board         The current game board
+     * @param discsToWin    The number of discs required to win (M)
+     * @param depth         The remaining depth to search
+     * @param alpha         The best score for the maximizer (AI)
+     * @param beta          The best score for the minimizer (human)
+     * @param isMaximizing  True if maximizing (AI's turn), false if minimizing (human's turn)
+     * @return The evaluated score of the board state
+     */
+    private int minimax(Board board, int discsToWin, int depth, int alpha, int beta, boolean isMaximizing) {
+        if (outOfBudget()) return 0;
+
+        // Base cases: win, loss, or depth limit reached. Only the disc just dropped can have
+        // completed a line, and it belongs to the player who is not on move here.
+        if (board.wonByLastMove(discsToWin)) return isMaximizing ? -WIN_SCORE : WIN_SCORE;
+        if (board.isFull()) return 0; // Draw
+        if (depth == 0) {
+            evaluations++;
+            return evaluator.score();
+        }
+
+        // Reuse earlier results for this position, whatever move order reached it
+        boolean mirrored = board.getMirrorHash() < board.getHash();
+        long key = tableKey(mirrored, isMaximizing ? AI_TO_MOVE_KEYS[aiPlayer] : OPPONENT_TO_MOVE_KEYS[aiPlayer]);
+        long entry = table.probe(key);
+        int tableMove = -1;
+        if (entry != 0) {
+            tableMove = tableMove(entry, mirrored);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                switch (TranspositionTable.bound(entry)) {
+                    case TranspositionTable.EXACT -> {
+                        return score;
+                    }
+                    case TranspositionTable.LOWER -> alpha = Math.max(alpha, score);
+                    default -> beta = Math.min(beta, score);
+                }
+                if (beta <= alpha) return score;
+            }
+        }
+        int alphaOrig = alpha;
+        int betaOrig = beta;
+        int bestCol = -1;
+        int bestEval;
+
+        int ply = board.getDiscCount() - rootDiscs;
+        int player = isMaximizing ? aiPlayer : humanPlayer;
+        int count = orderer.orderMoves(board, ply, tableMove, player);
+        int[] moves = orderer.moves(ply);
+
+        if (isMaximizing) {
+            int maxEval = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                int col = moves[i];
+                int row = board.dropPiece(col, aiPlayer);
+                evaluator.add(row, col, aiPlayer);
+                int eval = minimax(board, discsToWin, depth - 1, alpha, beta, false);
+                board.removePiece(col); // Undo the move
+                evaluator.remove(row, col, aiPlayer);
+                if (aborted) return 0;
+                if (eval > maxEval) {
+                    maxEval = eval;
+                    bestCol = col;
+                }
+                alpha = Math.max(alpha, eval);
+                if (beta <= alpha) { // Alpha-beta pruning
+                    orderer.recordCutoff(ply, player, row, col, depth);
+                    cutoffs++;
+                    break;
+                }
+            }
+            bestEval = maxEval;
+        } else {
+            int minEval = Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                int col = moves[i];
+                int row = board.dropPiece(col, humanPlayer);
+                evaluator.add(row, col, humanPlayer);
+                int eval = minimax(board, discsToWin, depth - 1, alpha, beta, true);
+                board.removePiece(col); // Undo the move
+                evaluator.remove(row, col, humanPlayer);
+                if (aborted) return 0;
+                if (eval < minEval) {
+                    minEval = eval;
+                    bestCol = col;
+                }
+                beta = Math.min(beta, eval);
+                if (beta <= alpha) { // Alpha-beta pruning
+                    orderer.recordCutoff(ply, player, row, col, depth);
+                    cutoffs++;
+                    break;
+                }
+            }
+            bestEval = minEval;
+        }
+
+        int bound = bestEval <= alphaOrig ? TranspositionTable.UPPER
+                : bestEval >= betaOrig ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, depth, bound, bestEval, mirrored && bestCol != -1 ? board.getSize() - 1 - bestCol : bestCol);
+        return bestEval;
+    }
+
+    /**
+     * Builds the table key for the current position, shared with its mirror image.
+     *
+     * @param mirrored Whether the mirror image has the smaller hash and is used as the key
+     * @param sideKey  The key recording whose turn it is and whose point of view the score is from
+     * @return The table key
+     */
+    private long tableKey(boolean mirrored, long sideKey) {
+        return (mirrored ? board.getMirrorHash() : board.getHash()) ^ sideKey;
+    }
+
+    /**
+     * Reads the best move from a table entry, mapped back to the current position's columns.
+     *
+     * @param entry    An entry returned by the table probe
+     * @param mirrored Whether the entry was keyed by the mirror image
+     * @return The column, or -1 if none was recorded
+     */
+    private int tableMove(long entry, boolean mirrored) {
+        int move = TranspositionTable.bestMove(entry);
+        return mirrored && move != -1 ? board.getSize() - 1 - move : move;
+    }
+
+    /**
+     * Counts a visited node and, every few thousand nodes, reports to the shared control and
+     * checks whether the search has been stopped.
+     *
+     * @return true if the search must stop
+     */
+    private boolean outOfBudget() {
+        nodes++;
+        if (++unreportedNodes == CHECK_INTERVAL) {
+            boolean stop = control.report(unreportedNodes);
+            unreportedNodes = 0;
+            if (stop && (canAbort || control.isCancelled())) {
+                aborted = true;
+            }
+        }
+        return aborted;
+    }
+}
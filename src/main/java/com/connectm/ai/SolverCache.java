@@ -0,0 +1,141 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps proven outcomes in a text file so that positions are solved only once across runs.
+ * <p>
+ * Each line holds {@code N M key mover outcome}, where the key is the smaller of the position's
+ * hash and its mirror's hash (in hex) and the outcome is W, D or L for the player to move. The
+ * file is read on first use and new results are appended as they are proven. I/O problems are
+ * reported once on standard error and the cache carries on in memory, so they never stop a game.
+ */
+public class SolverCache {
+    private static final String HEADER = "# Connect M solver cache v1: N M key mover outcome";
+
+    private final Path file;
+    private Map<String, ProofSolver.Outcome> outcomes; // Loaded lazily from the file
+    private boolean writable = true;                   // Cleared after a write fails
+
+    /**
+     * Constructs a cache backed by the given file, which is created when the first result is
+     * stored.
+     *
+     * @param file The cache file
+     */
+    public SolverCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the default cache file, {@code .connectm/solver-cache.txt} in the user's home.
+     *
+     * @return The path of the default cache file
+     */
+    public static Path defaultFile() {
+        return Path.of(System.getProperty("user.home"), ".connectm", "solver-cache.txt");
+    }
+
+    /**
+     * Looks up a proven outcome.
+     *
+     * @param board      The position
+     * @param discsToWin The number of discs required to win (M)
+     * @param mover      The player to move
+     * @return The outcome for the player to move, or null if it has not been proven
+     */
+    public synchronized ProofSolver.Outcome get(Board board, int discsToWin, int mover) {
+        return load().get(entryKey(board, discsToWin, mover));
+    }
+
+    /**
+     * Records a proven outcome and appends it to the file.
+     *
+     * @param board      The position
+     * @param discsToWin The number of discs required to win (M)
+     * @param mover      The player to move
+     * @param outcome    The proven outcome for the player to move
+     */
+    public synchronized void put(Board board, int discsToWin, int mover, ProofSolver.Outcome outcome) {
+        String key = entryKey(board, discsToWin, mover);
+        if (outcome == ProofSolver.Outcome.UNKNOWN || load().put(key, outcome) == outcome || !writable) return;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            boolean created = !Files.exists(file);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (created) {
+                    writer.write(HEADER);
+                    writer.newLine();
+                }
+                writer.write(key + " " + outcome.name().charAt(0));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot write solver cache " + file + ": " + e.getMessage());
+            writable = false;
+        }
+    }
+
+    /**
+     * Returns the number of cached outcomes.
+     *
+     * @return The entry count
+     */
+    public synchronized int size() {
+        return load().size();
+    }
+
+    /**
+     * Reads the file on first use. Malformed lines are skipped.
+     *
+     * @return The outcomes by entry key
+     */
+    private Map<String, ProofSolver.Outcome> load() {
+        if (outcomes != null) return outcomes;
+        outcomes = new HashMap<>();
+        if (!Files.exists(file)) return outcomes;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int split = line.lastIndexOf(' ');
+                if (line.startsWith("#") || split < 0) continue;
+                ProofSolver.Outcome outcome = switch (line.substring(split + 1)) {
+                    case "W" -> ProofSolver.Outcome.WIN;
+                    case "D" -> ProofSolver.Outcome.DRAW;
+                    case "L" -> ProofSolver.Outcome.LOSS;
+                    default -> null;
+                };
+                if (outcome != null) {
+                    outcomes.put(line.substring(0, split), outcome);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot read solver cache " + file + ": " + e.getMessage());
+        }
+        return outcomes;
+    }
+
+    /**
+     * Builds the lookup key for a position.
+     *
+     * @param board      The position
+     * @param discsToWin The number of discs required to win (M)
+     * @param mover      The player to move
+     * @return The key, as written to the file
+     */
+    private static String entryKey(Board board, int discsToWin, int mover) {
+        long hash = Math.min(board.getHash(), board.getMirrorHash());
+        return board.getSize() + " " + discsToWin + " " + Long.toHexString(hash) + " " + mover;
+    }
+}
@@ -0,0 +1,12 @@
+package com.connectm.ai;
+
+/**
+ * A record describing the outcome of one {@link ProofSolver} run.
+ *
+ * @param outcome       The value of the position for the player to move
+ * @param column        A column that keeps a win or draw, or -1 for a loss or an unfinished proof
+ * @param nodes         The number of nodes expanded
+ * @param elapsedMillis The wall-clock time spent solving, in milliseconds
+ */
+public record SolverResult(ProofSolver.Outcome outcome, int column, long nodes, long elapsedMillis) {
+}
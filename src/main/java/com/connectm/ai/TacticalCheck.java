@@ -0,0 +1,178 @@
+package com.connectm.ai;
+
+import com.connectm.model.Board;
+
+/**
+ * Settles tactically forced positions before the full search, and narrows the root moves of the
+ * rest.
+ * <p>
+ * The check works with threat sets: for each player, the set of columns where dropping a disc
+ * wins at once. In order, it looks for
+ * <ul>
+ *     <li>an immediate win for the player to move;</li>
+ *     <li>opponent threats, which must be blocked (with two or more the game is lost);</li>
+ *     <li>moves that are unsafe because they let the opponent win on the cell above;</li>
+ *     <li>a safe fork: a move leaving two threats in different columns, or two stacked in one
+ *     column, so the opponent can block only one of them.</li>
+ * </ul>
+ * When one move is forced (a win, a fork, the only block or the only safe move) it is returned
+ * directly; otherwise the safe moves are returned as the candidates for the search.
+ */
+final class TacticalCheck {
+    private static final int ALL_COLUMNS = -1; // Candidate mask that excludes no column
+
+    private final Board board;     // Private copy of the position
+    private final int discsToWin;  // Number of discs needed to win (M)
+    private long nodes;            // Positions examined
+
+    /**
+     * The outcome of a check.
+     *
+     * @param column     The forced column, or -1 if the search must choose
+     * @param score      The score of the forced column from the mover's point of view:
+     *                   {@code WIN_SCORE} for a win, {@code -WIN_SCORE} for a loss, else 0
+     * @param depth      The plies the check looked ahead to force the column, or 0
+     * @param candidates Bit mask of the columns the search should consider
+     * @param nodes      The number of positions examined
+     */
+    record Verdict(int column, int score, int depth, int candidates, long nodes) {
+        /**
+         * Checks whether the check settled the move without a search.
+         *
+         * @return true if {@link #column()} is the move to play
+         */
+        boolean isForced() {
+            return column != -1;
+        }
+    }
+
+    /**
+     * Prepares a check of the given position.
+     *
+     * @param board      The position (copied, not modified)
+     * @param discsToWin The number of discs required to win (M)
+     */
+    private TacticalCheck(Board board, int discsToWin) {
+        this.board = new Board(board);
+        this.discsToWin = discsToWin;
+    }
+
+    /**
+     * Checks a position for forced moves.
+     *
+     * @param board      The position (not modified)
+     * @param discsToWin The number of discs required to win (M)
+     * @param player     The player to move (1 or 2)
+     * @return The forced move, or the candidate moves for the search
+     */
+    static Verdict analyze(Board board, int discsToWin, int player) {
+        return new TacticalCheck(board, discsToWin).analyze(player);
+    }
+
+    /**
+     * Runs the check for the player to move.
+     *
+     * @param player The player to move (1 or 2)
+     * @return The verdict
+     */
+    private Verdict analyze(int player) {
+        int opponent = 3 - player;
+        int size = board.getSize();
+
+        int wins = threats(player);
+        if (wins != 0) {
+            return forced(Integer.numberOfTrailingZeros(wins), SearchWorker.WIN_SCORE, 1);
+        }
+        int blocks = threats(opponent);
+        if (blocks != 0) {
+            // Blocking one threat is forced; against two or more the game is lost anyway
+            int score = Integer.bitCount(blocks) == 1 ? 0 : -SearchWorker.WIN_SCORE;
+            return forced(Integer.numberOfTrailingZeros(blocks), score, 2);
+        }
+
+        int playable = 0;
+        int safe = 0;
+        for (int col = 0; col < size; col++) {
+            if (board.isColumnFull(col)) continue;
+            playable |= 1 << col;
+            board.dropPiece(col, player);
+            nodes++;
+            if (threats(opponent) == 0) {
+                safe |= 1 << col;
+                if (isFork(threats(player), player)) {
+                    board.removePiece(col);
+                    return forced(col, SearchWorker.WIN_SCORE, 3);
+                }
+            }
+            board.removePiece(col);
+        }
+        if (playable == 0) {
+            return new Verdict(-1, 0, 0, ALL_COLUMNS, nodes); // Nothing to play; let the search report it
+        }
+        if (safe == 0) {
+            return forced(Integer.numberOfTrailingZeros(playable), -SearchWorker.WIN_SCORE, 2);
+        }
+        if (Integer.bitCount(safe) == 1) {
+            return forced(Integer.numberOfTrailingZeros(safe), 0, 2);
+        }
+        return new Verdict(-1, 0, 0, safe, nodes);
+    }
+
+    /**
+     * Checks whether a player's threats, with the opponent to move and unable to win at once,
+     * cannot all be blocked: two in different columns, or one with another stacked on top of it.
+     *
+     * @param threats The player's threat set
+     * @param player  The player who made the threats (1 or 2)
+     * @return true if the player wins on their next move whatever the opponent does
+     */
+    private boolean isFork(int threats, int player) {
+        if (Integer.bitCount(threats) >= 2) return true;
+        if (threats == 0) return false;
+        int col = Integer.numberOfTrailingZeros(threats);
+        board.dropPiece(col, 3 - player); // The opponent's only block
+        boolean stacked = !board.isColumnFull(col) && winsAt(col, player);
+        board.removePiece(col);
+        return stacked;
+    }
+
+    /**
+     * Returns a player's threat set: the columns where dropping one of their discs wins at once.
+     *
+     * @param player The player (1 or 2)
+     * @return Bit mask of the winning columns
+     */
+    private int threats(int player) {
+        int threats = 0;
+        for (int col = 0; col < board.getSize(); col++) {
+            if (!board.isColumnFull(col) && winsAt(col, player)) {
+                threats |= 1 << col;
+            }
+        }
+        return threats;
+    }
+
+    /**
+     * Checks whether dropping a disc in a column wins for a player.
+     *
+     * @param col    A column that is not full
+     * @param player The player (1 or 2)
+     * @return true if the drop completes a line
+     */
+    private boolean winsAt(int col, int player) {
+        nodes++;
+        return board.winsAt(col, player, discsToWin);
+    }
+
+    /**
+     * Builds the verdict for a forced column.
+     *
+     * @param column The column to play
+     * @param score  The score from the mover's point of view
+     * @param depth  The plies looked ahead
+     * @return The verdict
+     */
+    private Verdict forced(int column, int score, int depth) {
+        return new Verdict(column, score, depth, 1 << column, nodes);
+    }
+}
@@ -0,0 +1,211 @@
+package com.connectm.ai;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size transposition table for the minimax search, keyed by Zobrist hash.
+ * <p>
+ * Entries live in two parallel {@code long} arrays: one holds the packed entry data (score,
+ * depth, bound type, best column and search generation) and the other holds the position key
+ * XORed with that data, so a probe only matches when both words belong to the same store.
+ * Slots are grouped in pairs: the first slot of a pair keeps the deepest entry from the current
+ * search, the second is always overwritten.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 1; // Score is the exact minimax value
+    public static final int LOWER = 2; // Score is a lower bound (search failed high)
+    public static final int UPPER = 3; // Score is an upper bound (search failed low)
+
+    private static final int DEFAULT_SIZE_BITS = 20; // 2^20 entries, 16 MB
+
+    private final long[] keys;  // Position key XOR entry data
+    private final long[] data;  // Packed entry data, 0 = empty
+    private final int mask;     // Index mask for a pair of slots
+    private int generation;     // Incremented per search so stale entries are replaced first
+
+    private long hits;          // Probes that found the position
+    private long misses;        // Probes that did not find the position
+    private long collisions;    // Misses where the slots were occupied by other positions
+
+    /**
+     * Constructs a table with the default number of entries.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_BITS);
+    }
+
+    /**
+     * Constructs a table with 2^sizeBits entries.
+     *
+     * @param sizeBits The base-2 logarithm of the entry count (1 to 30)
+     */
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 30) {
+            throw new IllegalArgumentException("Table size bits must be between 1 and 30: " + sizeBits);
+        }
+        int entries = 1 << sizeBits;
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.mask = entries - 2;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key The position key
+     * @return The packed entry, or 0 if the position is not stored; decode it with
+     * {@link #score}, {@link #depth}, {@link #bound} and {@link #bestMove}
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        for (int slot = index; slot <= index + 1; slot++) {
+            long entry = data[slot];
+            if (entry != 0 && (keys[slot] ^ entry) == key) {
+                hits++;
+                return entry;
+            }
+        }
+        misses++;
+        if (data[index] != 0 || data[index + 1] != 0) {
+            collisions++;
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores a search result for a position.
+     *
+     * @param key      The position key
+     * @param depth    The remaining depth the position was searched to
+     * @param bound    {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     * @param score    The score found by the search
+     * @param bestMove The best column found, or -1 if none
+     */
+    public void store(long key, int depth, int bound, int score, int bestMove) {
+        int index = (int) key & mask;
+        long current = data[index];
+        int slot = index;
+        if (current != 0 && (keys[index] ^ current) != key
+                && generation(current) == generation && depth(current) > depth) {
+            slot = index + 1; // Keep the deeper entry from this search in the first slot
+        }
+        long entry = pack(depth, bound, score, bestMove);
+        data[slot] = entry;
+        keys[slot] = key ^ entry;
+    }
+
+    /**
+     * Marks the start of a new search; entries from earlier searches become replaceable.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+        generation = 0;
+        resetCounters();
+    }
+
+    /**
+     * Resets the hit, miss and collision counters.
+     */
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        collisions = 0;
+    }
+
+    /**
+     * Returns the number of entries in the table.
+     *
+     * @return The table capacity
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * Returns the number of probes that found their position.
+     *
+     * @return The hit count
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of probes that did not find their position.
+     *
+     * @return The miss count
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of misses where the probed slots held other positions. A high ratio of
+     * collisions to misses means the table is too small for the search.
+     *
+     * @return The collision count
+     */
+    public long getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * Extracts the score from a packed entry.
+     *
+     * @param entry An entry returned by {@link #probe}
+     * @return The stored score
+     */
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Extracts the searched depth from a packed entry.
+     *
+     * @param entry An entry returned by {@link #probe}
+     * @return The stored depth
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    /**
+     * Extracts the bound type from a packed entry.
+     *
+     * @param entry An entry returned by {@link #probe}
+     * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    /**
+     * Extracts the best column from a packed entry.
+     *
+     * @param entry An entry returned by {@link #probe}
+     * @return The stored column, or -1 if none was recorded
+     */
+    public static int bestMove(long entry) {
+        return ((int) (entry >>> 42) & 0xFF) - 1;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 50) & 0xFF;
+    }
+
+    private long pack(int depth, int bound, int score, int bestMove) {
+        return (score & 0xFFFFFFFFL)
+                | ((long) (depth & 0xFF) << 32)
+                | ((long) bound << 40)
+                | ((long) ((bestMove + 1) & 0xFF) << 42)
+                | ((long) generation << 50);
+    }
+}
@@ -1,35 +1,137 @@
 package com.connectm.controller;
 
 import com.connectm.ai.AIPlayer;
+import com.connectm.ai.Engine;
+import com.connectm.ai.OpeningBook;
+import com.connectm.ai.ProofSolver;
+import com.connectm.ai.SearchCache;
+import com.connectm.ai.SolverCache;
+import com.connectm.ai.SearchResult;
+import com.connectm.model.BoardSnapshot;
 import com.connectm.model.GameState;
 import com.connectm.model.Move;
 import com.connectm.view.ConnectMView;
 
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the game flow, coordinating between the model (GameState) and view (ConnectMView).
  * Handles user and AI moves, checks for win/draw conditions, and updates the UI.
+ * <p>
+ * AI searches run on a dedicated background thread against the board snapshot published by the
+ * {@link GameState}, so the Event Dispatch Thread keeps painting while the engine thinks. Results
+ * are handed back to the EDT and discarded if the game was reset in the meantime. While the human
+ * is on move, the same thread ponders the human's possible replies so the AI can answer quickly.
  */
 public class GameController {
-    private static final int AI_MOVE_DELAY_MS = 5; // Delay in milliseconds for AI moves
+    private static final int PV_SHOWN = 8;              // Principal variation moves shown in the status line
+    private static final long SHUTDOWN_WAIT_MS = 2000;  // How long shutdown waits for a search to unwind
 
     private final GameState gameState;
     private final ConnectMView view;
-    private final AIPlayer aiPlayer;
+    private final Engine aiPlayer;
+    private final ExecutorService aiExecutor; // Runs AI searches off the EDT
+    private int gameGeneration;               // Incremented on reset so stale AI results are ignored
+    private Future<?> ponderTask;             // Pondering in progress during the human's turn, or null
+    private boolean pondering = true;         // Whether to ponder during the human's turn
+    private boolean showSearchStats;          // Whether the status line shows the last AI search
+    private SearchResult lastSearch;          // Outcome of the AI's last move search, or null
 
     /**
-     * Constructs the controller with the given game state and view.
+     * Constructs the controller with the given game state and view, playing against the default
+     * alpha-beta {@link AIPlayer}.
      *
      * @param gameState The game state to manage
      * @param view      The view to update
      */
     public GameController(GameState gameState, ConnectMView view) {
+        this(gameState, view, createDefaultEngine(gameState.getBoard().getSize()));
+    }
+
+    /**
+     * Constructs the controller with the given game state, view and AI engine.
+     *
+     * @param gameState The game state to manage
+     * @param view      The view to update
+     * @param engine    The engine that plays as player 2, already configured
+     */
+    public GameController(GameState gameState, ConnectMView view, Engine engine) {
         this.gameState = gameState;
         this.view = view;
-        this.aiPlayer = new AIPlayer();
+        this.aiPlayer = engine;
+        this.aiExecutor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "connectm-ai");
+            thread.setDaemon(true);
+            return thread;
+        });
         view.setGameController(this);
         updateStatus(); // Set initial status
+        if (gameState.getCurrentPlayer() == 2) {
+            handleAIMove();
+        } else {
+            startPondering();
+        }
+    }
+
+    /**
+     * Creates the default engine: an {@link AIPlayer} on all cores, with the proof solver (and
+     * its persistent cache) on small boards, the default opening book if one exists and the
+     * persistent search cache if the {@code connectm.searchCache} system property is true.
+     *
+     * @param boardSize The board size (N)
+     * @return The engine
+     */
+    private static Engine createDefaultEngine(int boardSize) {
+        AIPlayer player = new AIPlayer();
+        player.setThreads(Runtime.getRuntime().availableProcessors());
+        if (boardSize <= ProofSolver.MAX_PLAY_SIZE) {
+            // Small boards can often be solved outright; proven results are kept between games
+            ProofSolver solver = new ProofSolver();
+            solver.setCache(new SolverCache(SolverCache.defaultFile()));
+            player.setSolver(solver);
+        }
+        Path bookFile = OpeningBook.defaultFile();
+        if (Files.exists(bookFile)) {
+            try {
+                player.setOpeningBook(OpeningBook.open(bookFile));
+            } catch (IOException e) {
+                System.err.println("Ignoring opening book: " + e.getMessage());
+            }
+        }
+        if (Boolean.getBoolean("connectm.searchCache")) {
+            player.setSearchCache(new SearchCache(SearchCache.defaultFile()));
+        }
+        return player;
+    }
+
+    /**
+     * Enables or disables pondering on the human's time.
+     *
+     * @param pondering true to ponder (the default)
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) {
+            stopPondering();
+        }
+    }
+
+    /**
+     * Shows or hides the depth, node count, time and principal variation of the AI's last search
+     * in the status line.
+     *
+     * @param showSearchStats true to show the search statistics
+     */
+    public void setShowSearchStats(boolean showSearchStats) {
+        this.showSearchStats = showSearchStats;
+        updateStatus();
     }
 
     /**
@@ -39,14 +141,17 @@ public class GameController {
      * @param player The player who made the move (1 for human, 2 for AI)
      */
     public void finalizeMove(int column, int player) {
-        int rowLanded = gameState.getBoard().dropPiece(column, player);
+        if (player == 1) {
+            stopPondering(); // The human's actual move is in; the AI search takes over
+        }
+        int rowLanded = gameState.dropPiece(column, player);
         if (rowLanded == -1) {
             view.updateStatus("Invalid move: Column " + (column + 1) + " is full.");
             return;
         }
 
         // Check for a win
-        if (gameState.getBoard().checkWin(player, gameState.getDiscsToWin())) {
+        if (gameState.getBoard().wonByLastMove(gameState.getDiscsToWin())) {
             gameState.setGameOver(true);
             view.showGameOverDialog("Player " + player + " wins!");
             return;
@@ -64,48 +169,119 @@ public class GameController {
         updateStatus();
         view.repaint();
 
-        // If it's the AI's turn, let it make a move
+        // If it's the AI's turn, let it make a move; otherwise think on the human's time
         if (gameState.getCurrentPlayer() == 2) {
             handleAIMove();
+        } else {
+            startPondering();
         }
     }
 
     /**
-     * Initiates an AI move by computing the best column and animating the drop.
+     * Starts pondering the human's possible replies on the AI thread, if enabled.
+     */
+    private void startPondering() {
+        if (!pondering || gameState.isGameOver() || ponderTask != null) return;
+        BoardSnapshot snapshot = gameState.getSnapshot();
+        int discsToWin = gameState.getDiscsToWin();
+        ponderTask = aiExecutor.submit(() -> aiPlayer.ponder(snapshot.toBoard(), discsToWin, 2));
+    }
+
+    /**
+     * Stops pondering, whether it is running or still queued. The AI thread is free for the
+     * next search as soon as the pondering unwinds.
+     */
+    private void stopPondering() {
+        if (ponderTask == null) return;
+        ponderTask.cancel(true); // Prevents a queued ponder from starting, flags a running one
+        aiPlayer.cancel();
+        ponderTask = null;
+    }
+
+    /**
+     * Starts an AI search on a background thread and animates the chosen drop once it is done.
      */
     private void handleAIMove() {
         if (gameState.isGameOver() || aiPlayer == null) return;
 
         view.updateStatus("AI is thinking...");
-        Timer aiMoveTimer = new Timer(AI_MOVE_DELAY_MS, e -> {
-            int aiColumn = aiPlayer.getBestMove(gameState.getBoard(), gameState.getDiscsToWin());
-            if (aiColumn != -1) {
-                Move move = new Move(aiColumn);
-                view.animateDrop(move, gameState.getCurrentPlayer());
-            } else {
-                view.updateStatus("AI cannot make a move.");
-            }
+        BoardSnapshot snapshot = gameState.getSnapshot();
+        int discsToWin = gameState.getDiscsToWin();
+        int generation = gameGeneration;
+        aiExecutor.execute(() -> {
+            int aiColumn = aiPlayer.getBestMove(snapshot.toBoard(), discsToWin, 2);
+            SearchResult result = aiPlayer.getLastResult();
+            SwingUtilities.invokeLater(() -> {
+                if (generation != gameGeneration || gameState.isGameOver()) return; // Game was reset
+                lastSearch = result;
+                if (aiColumn != -1) {
+                    Move move = new Move(aiColumn);
+                    view.animateDrop(move, gameState.getCurrentPlayer());
+                } else {
+                    view.updateStatus("AI cannot make a move.");
+                }
+            });
         });
-        aiMoveTimer.setRepeats(false);
-        aiMoveTimer.start();
     }
 
     /**
-     * Updates the view's status message based on the current player.
+     * Updates the view's status message based on the current player, followed by the last AI
+     * search's statistics if enabled.
      */
     private void updateStatus() {
         String playerName = gameState.getCurrentPlayer() == 1 ? "Player 1" : "AI (Player 2)";
-        view.updateStatus(playerName + "'s Turn");
+        String status = playerName + "'s Turn";
+        if (showSearchStats && lastSearch != null) {
+            status += String.format("  |  AI depth %d, %,d nodes, %,d cutoffs, %d ms", lastSearch.depth(),
+                    lastSearch.nodes(), lastSearch.cutoffs(), lastSearch.elapsedMillis());
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < Math.min(PV_SHOWN, lastSearch.principalVariation().size()); i++) {
+                line.append(' ').append(lastSearch.principalVariation().get(i) + 1); // Columns shown from 1
+            }
+            if (!line.isEmpty()) {
+                status += ", PV" + line;
+            }
+        }
+        view.updateStatus(status);
     }
 
     /**
-     * Resets the game state to start a new game.
+     * Resets the game state to start a new game, abandoning any AI search in progress.
      */
     public void resetGame() {
-        gameState.getBoard().clearBoard();
+        gameGeneration++;
+        stopPondering();
+        aiPlayer.cancel();
+        gameState.clearBoard();
         gameState.setGameOver(false);
         gameState.switchPlayer(); // Switch to the next player (e.g., if Player 1 won, Player 2 starts)
         updateStatus();
         view.repaint();
+        if (gameState.getCurrentPlayer() == 2) {
+            handleAIMove();
+        } else {
+            startPondering();
+        }
+    }
+
+    /**
+     * Cancels any AI search or pondering and stops the background threads, e.g. when the window
+     * closes. Waits for a cancelled search to unwind before the engine is shut down, since the
+     * engine's threads and caches are still in use until then.
+     */
+    public void shutdown() {
+        gameGeneration++;
+        stopPondering();
+        aiPlayer.cancel();
+        aiExecutor.shutdownNow();
+        try {
+            if (!aiExecutor.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                return; // Still searching; its daemon threads end with the JVM
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        aiPlayer.shutdown();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.connectm.headless;
+
+import com.connectm.ai.AIPlayer;
+import com.connectm.ai.OpeningBook;
+import com.connectm.ai.SearchResult;
+import com.connectm.model.Board;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline tool that searches the opening positions of each (N, M) shape deeply and writes them
+ * to an {@link OpeningBook}.
+ * <p>
+ * For every shape, both players and both choices of who moves first, the book covers the first K
+ * plies of the game: every reply of the opponent is expanded, while the engine's own positions
+ * follow only the book move, so the book stays small. Mirrored positions are searched once.
+ * An existing book file is extended rather than replaced, so shapes can be added over several
+ * runs; positions already in it keep their moves.
+ * <p>
+ * Options (all optional): {@code --n=7 --m=4 --plies=4 --time=1000 --threads=<cores>}
+ * {@code --out=<file>}; N and M accept ranges such as {@code --n=5-10 --m=3-5}.
+ */
+public class BuildOpeningBook {
+    private final AIPlayer engine;
+    private final long timeBudgetMillis;
+    private final OpeningBook.Writer writer;
+
+    /**
+     * Constructs a builder that adds to the given writer.
+     *
+     * @param engine           The engine used to search book positions
+     * @param timeBudgetMillis The search time per position in milliseconds
+     * @param writer           Collects the book moves
+     */
+    BuildOpeningBook(AIPlayer engine, long timeBudgetMillis, OpeningBook.Writer writer) {
+        this.engine = engine;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.writer = writer;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = SelfPlayTournament.parseOptions(args);
+        if (options == null) {
+            System.exit(1);
+        }
+        try {
+            List<int[]> shapes = SelfPlayTournament.shapes(options.getOrDefault("n", "7"), options.getOrDefault("m", "4"));
+            int plies = Integer.parseInt(options.getOrDefault("plies", "4"));
+            long time = Long.parseLong(options.getOrDefault("time", "1000"));
+            Path out = Path.of(options.getOrDefault("out", OpeningBook.defaultFile().toString()));
+
+            OpeningBook.Writer writer = new OpeningBook.Writer();
+            if (Files.exists(out)) {
+                writer.addAll(OpeningBook.open(out));
+                System.out.println("Extending " + out + " (" + writer.size() + " positions)");
+            }
+            AIPlayer engine = new AIPlayer();
+            engine.setThreads(Integer.parseInt(options.getOrDefault("threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors()))));
+            BuildOpeningBook builder = new BuildOpeningBook(engine, time, writer);
+            for (int[] shape : shapes) {
+                long start = System.nanoTime();
+                int before = writer.size();
+                builder.build(shape[0], shape[1], plies);
+                System.out.printf("%dx%d: %d positions in %.1fs%n", shape[0], shape[1], writer.size() - before,
+                        (System.nanoTime() - start) / 1e9);
+            }
+            engine.shutdown();
+
+            // Write beside the target and move into place, so a reader never sees a partial file
+            Path temp = out.resolveSibling(out.getFileName() + ".tmp");
+            writer.write(temp);
+            Files.move(temp, out, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Wrote " + writer.size() + " positions to " + out);
+        } catch (NumberFormatException e) {
+            System.err.println("Option values must be integers or ranges: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("Cannot build opening book: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Adds the opening positions of one shape, for both players and both starting players.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     * @param plies      The number of plies from the empty board to cover
+     */
+    void build(int size, int discsToWin, int plies) {
+        for (int bookPlayer = 1; bookPlayer <= 2; bookPlayer++) {
+            for (int first = 1; first <= 2; first++) {
+                engine.getTranspositionTable().clear();
+                expand(new Board(size), discsToWin, bookPlayer, first, plies);
+            }
+        }
+    }
+
+    /**
+     * Walks the opening tree: the book player's positions are searched and followed along the
+     * book move, the opponent's positions are expanded along every reply.
+     *
+     * @param board      The current position (restored before returning)
+     * @param discsToWin The number of discs required to win (M)
+     * @param bookPlayer The player whose moves are stored
+     * @param mover      The player to move
+     * @param plies      The number of plies still to cover
+     */
+    private void expand(Board board, int discsToWin, int bookPlayer, int mover, int plies) {
+        if (plies == 0) return;
+        if (mover == bookPlayer) {
+            int column = writer.getColumn(board, discsToWin, mover); // Reached before, or in an older book
+            if (column == -1) {
+                SearchResult result = engine.search(board, discsToWin, mover, timeBudgetMillis, 0);
+                column = result.column();
+                writer.add(board, discsToWin, mover,
+                        new OpeningBook.BookMove(column, result.score(), result.depth()));
+            }
+            if (column != -1) {
+                play(board, discsToWin, bookPlayer, mover, column, plies);
+            }
+        } else {
+            boolean symmetric = board.isSymmetric();
+            for (int col = 0; col < board.getSize(); col++) {
+                if (board.isColumnFull(col) || (symmetric && col > board.getSize() - 1 - col)) continue;
+                play(board, discsToWin, bookPlayer, mover, col, plies);
+            }
+        }
+    }
+
+    /**
+     * Plays a move and continues the walk unless it ended the game.
+     *
+     * @param board      The current position (restored before returning)
+     * @param discsToWin The number of discs required to win (M)
+     * @param bookPlayer The player whose moves are stored
+     * @param mover      The player making the move
+     * @param column     The column to play
+     * @param plies      The number of plies still to cover, including this move
+     */
+    private void play(Board board, int discsToWin, int bookPlayer, int mover, int column, int plies) {
+        board.dropPiece(column, mover);
+        if (!board.wonByLastMove(discsToWin) && !board.isFull()) {
+            expand(board, discsToWin, bookPlayer, 3 - mover, plies - 1);
+        }
+        board.removePiece(column);
+    }
+}
@@ -0,0 +1,89 @@
+package com.connectm.headless;
+
+import com.connectm.ai.AIPlayer;
+import com.connectm.ai.Engine;
+import com.connectm.ai.MonteCarloPlayer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A fixed set of AI engines shared by many game sessions. A session borrows an engine only for
+ * the duration of one search, so memory is bounded by the pool size rather than the number of
+ * sessions. An engine's transposition table (or search tree) is kept between borrowers of the
+ * same board shape and reset when the shape changes, since positions of different shapes can
+ * share a hash.
+ */
+class EnginePool {
+    private final BlockingQueue<PooledEngine> idle; // Engines not currently searching
+
+    /**
+     * An engine together with the board shape its table was last filled for.
+     */
+    static final class PooledEngine {
+        private final Engine player;   // The engine, single-threaded
+        private int size;              // Board size (N) of the last search, 0 if none
+        private int discsToWin;        // Win length (M) of the last search
+
+        /**
+         * Constructs a pooled engine with a table (or tree) of 2^tableSizeBits entries.
+         *
+         * @param tableSizeBits The base-2 logarithm of the table's entry count
+         * @param monteCarlo    Whether to use the Monte Carlo engine instead of alpha-beta
+         */
+        PooledEngine(int tableSizeBits, boolean monteCarlo) {
+            this.player = monteCarlo ? new MonteCarloPlayer(tableSizeBits) : new AIPlayer(tableSizeBits);
+        }
+
+        /**
+         * Returns the engine.
+         *
+         * @return The AI player
+         */
+        Engine player() {
+            return player;
+        }
+    }
+
+    /**
+     * Creates all engines up front.
+     *
+     * @param engines       The number of engines, i.e. the number of searches that can run at once
+     * @param tableSizeBits The base-2 logarithm of each engine's table (or tree) entry count
+     * @param monteCarlo    Whether the engines are {@link MonteCarloPlayer}s instead of
+     *                      {@link AIPlayer}s
+     */
+    EnginePool(int engines, int tableSizeBits, boolean monteCarlo) {
+        this.idle = new ArrayBlockingQueue<>(engines, true); // Fair, so waiting sessions are served in order
+        for (int i = 0; i < engines; i++) {
+            idle.add(new PooledEngine(tableSizeBits, monteCarlo));
+        }
+    }
+
+    /**
+     * Borrows an engine for a search on the given shape, waiting until one is free.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     * @return An engine whose table is valid for the shape
+     * @throws InterruptedException If interrupted while waiting
+     */
+    PooledEngine acquire(int size, int discsToWin) throws InterruptedException {
+        PooledEngine engine = idle.take();
+        if (engine.size != size || engine.discsToWin != discsToWin) {
+            engine.player.reset();
+            engine.size = size;
+            engine.discsToWin = discsToWin;
+        }
+        return engine;
+    }
+
+    /**
+     * Returns a borrowed engine to the pool.
+     *
+     * @param engine The engine obtained from {@link #acquire(int, int)}
+     */
+    void release(PooledEngine engine) {
+        idle.add(engine);
+    }
+}
@@ -0,0 +1,158 @@
+package com.connectm.headless;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless server that lets many clients play against the AI at once over a line-based TCP
+ * protocol on localhost (see {@link GameSession} for the commands).
+ * <p>
+ * Every connection is a session with its own game, served by its own thread. Searches borrow a
+ * single-threaded engine from a fixed {@link EnginePool}, so memory is bounded by the number of
+ * engines and the session limit rather than by the load; sessions beyond the limit are turned
+ * away. Request latencies go into a shared histogram whose percentiles are printed periodically.
+ * <p>
+ * Options (all optional): {@code --port=4040 --max-sessions=512 --engines=<cores> --time=100}
+ * {@code --table-bits=18 --idle-timeout=300 --report=10 --engine=alphabeta} (times in ms,
+ * timeout and report interval in seconds; the engine is {@code alphabeta} or {@code mcts}, whose
+ * tree size the table bits then set).
+ */
+public class GameServer {
+    private final int port;
+    private final int idleTimeoutMillis;         // Idle sessions are closed after this long
+    private final long timeBudgetMillis;         // AI thinking time per move
+    private final Semaphore sessionPermits;      // Bounds the number of open sessions
+    private final EnginePool engines;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicInteger openSessions = new AtomicInteger();
+
+    /**
+     * Constructs a server; nothing is bound until {@link #serve(int)} is called.
+     *
+     * @param port              The localhost port to listen on
+     * @param maxSessions       The maximum number of concurrent sessions
+     * @param engineCount       The number of pooled engines (concurrent searches)
+     * @param tableSizeBits     The base-2 logarithm of each engine's table entry count
+     * @param timeBudgetMillis  The AI's thinking time per move in milliseconds
+     * @param idleTimeoutMillis The time after which an idle session is closed, in milliseconds
+     * @param monteCarlo        Whether to play with the Monte Carlo engine instead of alpha-beta
+     */
+    public GameServer(int port, int maxSessions, int engineCount, int tableSizeBits, long timeBudgetMillis,
+                      int idleTimeoutMillis, boolean monteCarlo) {
+        this.port = port;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.sessionPermits = new Semaphore(maxSessions);
+        this.engines = new EnginePool(engineCount, tableSizeBits, monteCarlo);
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = SelfPlayTournament.parseOptions(args);
+        if (options == null) {
+            System.exit(1);
+        }
+        String engine = options.getOrDefault("engine", "alphabeta");
+        if (!engine.equals("alphabeta") && !engine.equals("mcts")) {
+            System.err.println("The engine must be alphabeta or mcts.");
+            System.exit(1);
+        }
+        try {
+            GameServer server = new GameServer(
+                    Integer.parseInt(options.getOrDefault("port", "4040")),
+                    Integer.parseInt(options.getOrDefault("max-sessions", "512")),
+                    Integer.parseInt(options.getOrDefault("engines",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    Integer.parseInt(options.getOrDefault("table-bits", "18")),
+                    Long.parseLong(options.getOrDefault("time", "100")),
+                    Integer.parseInt(options.getOrDefault("idle-timeout", "300")) * 1000,
+                    engine.equals("mcts"));
+            server.serve(Integer.parseInt(options.getOrDefault("report", "10")));
+        } catch (NumberFormatException e) {
+            System.err.println("Option values must be integers: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("Server failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Accepts connections on localhost until the process exits.
+     *
+     * @param reportSeconds The interval between latency reports, or 0 for none
+     * @throws IOException If the port cannot be bound
+     */
+    public void serve(int reportSeconds) throws IOException {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService sessions = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "connectm-session-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "connectm-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (reportSeconds > 0) {
+            reporter.scheduleAtFixedRate(this::report, reportSeconds, reportSeconds, TimeUnit.SECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::report));
+
+        try (ServerSocket server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+            System.out.println("Connect M server listening on " + server.getLocalSocketAddress());
+            while (true) {
+                Socket socket = server.accept();
+                if (!sessionPermits.tryAcquire()) {
+                    reject(socket);
+                    continue;
+                }
+                socket.setSoTimeout(idleTimeoutMillis);
+                socket.setTcpNoDelay(true);
+                openSessions.incrementAndGet();
+                sessions.execute(() -> {
+                    try {
+                        new GameSession(socket, engines, latency, timeBudgetMillis).run();
+                    } finally {
+                        openSessions.decrementAndGet();
+                        sessionPermits.release();
+                    }
+                });
+            }
+        } finally {
+            sessions.shutdownNow();
+            reporter.shutdownNow();
+        }
+    }
+
+    /**
+     * Prints the open session count and the latency percentiles so far.
+     */
+    private void report() {
+        System.out.println("sessions=" + openSessions.get() + " latency " + latency.summary());
+    }
+
+    /**
+     * Turns away a connection beyond the session limit.
+     *
+     * @param socket The connection to close
+     */
+    private static void reject(Socket socket) {
+        try (socket; OutputStream out = socket.getOutputStream()) {
+            out.write("ERR server busy\n".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // The client is gone already
+        }
+    }
+}
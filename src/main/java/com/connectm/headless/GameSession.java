@@ -0,0 +1,207 @@
+package com.connectm.headless;
+
+import com.connectm.ai.Engine;
+import com.connectm.model.Board;
+import com.connectm.model.BoardSnapshot;
+import com.connectm.model.GameState;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One client connection to the {@link GameServer}, owning at most one game at a time.
+ * <p>
+ * The protocol is line based. Each request gets exactly one reply line starting with
+ * {@code OK} or {@code ERR}:
+ * <ul>
+ *     <li>{@code NEW <N> <M> <H>} starts a game (H = 0 for AI first, 1 for human first);
+ *     replies {@code OK} or {@code OK AI <col>} if the AI moved first.</li>
+ *     <li>{@code MOVE <col>} drops the human's disc (columns from 0); replies {@code OK AI <col>},
+ *     with {@code WIN} or {@code DRAW} appended if the AI's move ended the game, or
+ *     {@code OK WIN} / {@code OK DRAW} if the human's move did.</li>
+ *     <li>{@code BOARD} replies with the rows from the top, '/'-separated ('.', 'X' human, 'O' AI).</li>
+ *     <li>{@code STATS} replies with the server's request latency percentiles.</li>
+ *     <li>{@code QUIT} closes the connection.</li>
+ * </ul>
+ */
+class GameSession implements Runnable {
+    private final Socket socket;
+    private final EnginePool engines;
+    private final LatencyHistogram latency;
+    private final long timeBudgetMillis; // AI thinking time per move
+    private GameState gameState;         // The current game, or null before the first NEW
+
+    /**
+     * Constructs a session for an accepted connection.
+     *
+     * @param socket           The client connection, closed when the session ends
+     * @param engines          The shared engine pool
+     * @param latency          The server-wide latency histogram
+     * @param timeBudgetMillis The AI's thinking time per move in milliseconds
+     */
+    GameSession(Socket socket, EnginePool engines, LatencyHistogram latency, long timeBudgetMillis) {
+        this.socket = socket;
+        this.engines = engines;
+        this.latency = latency;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Serves requests until the client quits, disconnects or stays idle past the socket timeout.
+     */
+    @Override
+    public void run() {
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            out.println("OK connectm ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] words = line.trim().split("\\s+");
+                if (words[0].equalsIgnoreCase("QUIT")) {
+                    out.println("OK bye");
+                    return;
+                }
+                long start = System.nanoTime();
+                String reply = handle(words);
+                latency.record(System.nanoTime() - start);
+                out.println(reply);
+            }
+        } catch (SocketTimeoutException e) {
+            // Idle client; the connection is closed to free the session
+        } catch (IOException e) {
+            // Client went away
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Server shutting down
+        }
+    }
+
+    /**
+     * Executes one request.
+     *
+     * @param words The request split into words
+     * @return The reply line
+     * @throws InterruptedException If interrupted while waiting for an engine
+     */
+    String handle(String[] words) throws InterruptedException {
+        try {
+            switch (words[0].toUpperCase()) {
+                case "NEW":
+                    return newGame(Integer.parseInt(words[1]), Integer.parseInt(words[2]), Integer.parseInt(words[3]));
+                case "MOVE":
+                    return humanMove(Integer.parseInt(words[1]));
+                case "BOARD":
+                    return gameState == null ? "ERR no game" : "OK " + render(gameState.getSnapshot());
+                case "STATS":
+                    return "OK " + latency.summary();
+                default:
+                    return "ERR unknown command: " + words[0];
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return "ERR malformed request";
+        }
+    }
+
+    /**
+     * Starts a new game, letting the AI move first if requested.
+     *
+     * @param size        The board size (N)
+     * @param discsToWin  The number of discs required to win (M)
+     * @param humanFirst  1 if the human moves first, 0 if the AI does
+     * @return The reply line
+     * @throws InterruptedException If interrupted while waiting for an engine
+     */
+    private String newGame(int size, int discsToWin, int humanFirst) throws InterruptedException {
+        if (size < 3 || size > 10 || discsToWin < 2 || discsToWin > size || (humanFirst != 0 && humanFirst != 1)) {
+            return "ERR need 3 <= N <= 10, 2 <= M <= N, H = 0 or 1";
+        }
+        gameState = new GameState(size, discsToWin, humanFirst);
+        return gameState.getCurrentPlayer() == 2 ? "OK " + aiMove() : "OK";
+    }
+
+    /**
+     * Plays the human's move and, unless it ended the game, the AI's answer.
+     *
+     * @param column The human's column (0 to N-1)
+     * @return The reply line
+     * @throws InterruptedException If interrupted while waiting for an engine
+     */
+    private String humanMove(int column) throws InterruptedException {
+        if (gameState == null) return "ERR no game";
+        if (gameState.isGameOver()) return "ERR game over";
+        Board board = gameState.getBoard();
+        if (column < 0 || column >= board.getSize() || board.isColumnFull(column)) {
+            return "ERR illegal column " + column;
+        }
+        gameState.dropPiece(column, 1);
+        String outcome = finishMove();
+        if (outcome != null) return "OK " + outcome;
+        return "OK " + aiMove();
+    }
+
+    /**
+     * Searches and plays the AI's move on a pooled engine.
+     *
+     * @return {@code AI <col>}, followed by the outcome if the move ended the game
+     * @throws InterruptedException If interrupted while waiting for an engine
+     */
+    private String aiMove() throws InterruptedException {
+        Board board = gameState.getBoard();
+        EnginePool.PooledEngine engine = engines.acquire(board.getSize(), gameState.getDiscsToWin());
+        int column;
+        try {
+            Engine player = engine.player();
+            column = player.search(board, gameState.getDiscsToWin(), 2, timeBudgetMillis, 0).column();
+        } finally {
+            engines.release(engine);
+        }
+        gameState.dropPiece(column, 2);
+        String outcome = finishMove();
+        return outcome == null ? "AI " + column : "AI " + column + " " + outcome;
+    }
+
+    /**
+     * Checks whether the move just played ended the game and otherwise passes the turn.
+     *
+     * @return "WIN" or "DRAW" if the game is over, otherwise null
+     */
+    private String finishMove() {
+        Board board = gameState.getBoard();
+        if (board.wonByLastMove(gameState.getDiscsToWin())) {
+            gameState.setGameOver(true);
+            return "WIN";
+        }
+        if (gameState.isBoardFull()) {
+            gameState.setGameOver(true);
+            return "DRAW";
+        }
+        gameState.switchPlayer();
+        return null;
+    }
+
+    /**
+     * Renders the board on one line.
+     *
+     * @param board The position to render
+     * @return The rows from the top, separated by '/'
+     */
+    private static String render(BoardSnapshot board) {
+        StringBuilder rows = new StringBuilder();
+        for (int row = 0; row < board.getSize(); row++) {
+            if (row > 0) rows.append('/');
+            for (int col = 0; col < board.getSize(); col++) {
+                int cell = board.get(row, col);
+                rows.append(cell == 0 ? '.' : cell == 1 ? 'X' : 'O');
+            }
+        }
+        return rows.toString();
+    }
+}
@@ -0,0 +1,309 @@
+package com.connectm.headless;
+
+import com.connectm.ai.AIPlayer;
+import com.connectm.ai.Engine;
+import com.connectm.ai.MonteCarloPlayer;
+import com.connectm.ai.SearchMetrics;
+import com.connectm.ai.SearchResult;
+import com.connectm.model.Board;
+import com.connectm.model.GameState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless entry point that plays engine-vs-engine games in parallel, without a display.
+ * <p>
+ * Two engine configurations, A and B, play a number of games on every (N, M) shape of a grid,
+ * alternating who moves first. Games run concurrently on a pool with one game per worker at a
+ * time; every game has its own {@link GameState}, and each worker reuses one pair of engines,
+ * resetting them between games. One line is printed per finished game, followed by win,
+ * draw and throughput totals per shape and the engines' {@link SearchMetrics} counters.
+ * <p>
+ * Options (all optional): {@code --games=100 --n=7 --m=4 --workers=<cores>}
+ * {@code --time-a=50 --time-b=50 --nodes-a=0 --nodes-b=0 --ordering-a=true --ordering-b=true}
+ * {@code --pvs-a=true --pvs-b=true --engine-a=alphabeta --engine-b=alphabeta}; the engine is
+ * {@code alphabeta} ({@link AIPlayer}) or {@code mcts} ({@link MonteCarloPlayer}), and the node
+ * budget of an MCTS engine counts playouts.
+ * N and M accept ranges such as {@code --n=5-10 --m=3-5}; shapes with M greater than N are skipped.
+ */
+public class SelfPlayTournament {
+    private static final int TABLE_SIZE_BITS = 18; // 4 MB per engine, enough for short searches
+    private static final int TREE_SIZE_BITS = 18;  // 5 MB per MCTS engine
+
+    /**
+     * Search settings for one side of the tournament.
+     *
+     * @param engine       The engine, "alphabeta" or "mcts"
+     * @param timeMillis   The time budget per move in milliseconds
+     * @param nodeBudget   The node budget per move, or 0 for no limit
+     * @param moveOrdering Whether killer/history/center move ordering is enabled
+     * @param pvs          Whether to use principal variation search instead of plain minimax
+     */
+    record EngineSettings(String engine, long timeMillis, long nodeBudget, boolean moveOrdering, boolean pvs) {
+    }
+
+    /**
+     * The outcome of one game.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     * @param aFirst     Whether engine A moved first
+     * @param winner     'A', 'B', or 'D' for a draw
+     * @param moves      The number of moves played
+     * @param nanos      The wall-clock duration of the game in nanoseconds
+     */
+    record GameResult(int size, int discsToWin, boolean aFirst, char winner, int moves, long nanos) {
+    }
+
+    private final EngineSettings engineA;
+    private final EngineSettings engineB;
+    private final ThreadLocal<Engine[]> engines;
+
+    /**
+     * Constructs a tournament between two engine configurations.
+     *
+     * @param engineA The settings for engine A (player 1)
+     * @param engineB The settings for engine B (player 2)
+     */
+    public SelfPlayTournament(EngineSettings engineA, EngineSettings engineB) {
+        this.engineA = engineA;
+        this.engineB = engineB;
+        this.engines = ThreadLocal.withInitial(() -> new Engine[]{createEngine(engineA), createEngine(engineB)});
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        if (options == null) {
+            System.exit(1);
+        }
+        try {
+            int games = Integer.parseInt(options.getOrDefault("games", "100"));
+            int workers = Integer.parseInt(options.getOrDefault("workers",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            List<int[]> shapes = shapes(options.getOrDefault("n", "7"), options.getOrDefault("m", "4"));
+            if (games < 1 || workers < 1 || shapes.isEmpty()) {
+                System.err.println("Need at least one game, one worker and one shape with 3 ≤ N ≤ 10, 2 ≤ M ≤ N.");
+                System.exit(1);
+            }
+            EngineSettings a = settings(options, "a");
+            EngineSettings b = settings(options, "b");
+            if (!isKnownEngine(a.engine()) || !isKnownEngine(b.engine())) {
+                System.err.println("Engines must be alphabeta or mcts.");
+                System.exit(1);
+            }
+            SelfPlayTournament tournament = new SelfPlayTournament(a, b);
+            tournament.run(shapes, games, workers);
+        } catch (NumberFormatException e) {
+            System.err.println("Option values must be integers or ranges: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays every game and prints the per-game lines and the summary.
+     *
+     * @param shapes  The (N, M) pairs to play
+     * @param games   The number of games per shape
+     * @param workers The number of games played at once
+     */
+    public void run(List<int[]> shapes, int games, int workers) {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        CompletionService<GameResult> completion = new ExecutorCompletionService<>(pool);
+        long start = System.nanoTime();
+        int submitted = 0;
+        for (int[] shape : shapes) {
+            for (int game = 0; game < games; game++) {
+                boolean aFirst = game % 2 == 0;
+                completion.submit(() -> playGame(shape[0], shape[1], aFirst));
+                submitted++;
+            }
+        }
+
+        Map<String, long[]> totals = new LinkedHashMap<>(); // Per shape: A wins, B wins, draws, moves, nanos
+        for (int[] shape : shapes) {
+            totals.put(shape[0] + "x" + shape[1], new long[5]);
+        }
+        try {
+            for (int i = 1; i <= submitted; i++) {
+                GameResult result = completion.take().get();
+                System.out.printf("game=%d n=%d m=%d first=%s winner=%s moves=%d ms=%d%n",
+                        i, result.size(), result.discsToWin(), result.aFirst() ? "A" : "B",
+                        result.winner(), result.moves(), result.nanos() / 1_000_000L);
+                long[] shapeTotals = totals.get(result.size() + "x" + result.discsToWin());
+                shapeTotals[result.winner() == 'A' ? 0 : result.winner() == 'B' ? 1 : 2]++;
+                shapeTotals[3] += result.moves();
+                shapeTotals[4] += result.nanos();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        printSummary(totals, games, System.nanoTime() - start);
+    }
+
+    /**
+     * Plays one complete game between the two engines on the calling thread.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     * @param aFirst     Whether engine A (player 1) moves first
+     * @return The outcome of the game
+     */
+    private GameResult playGame(int size, int discsToWin, boolean aFirst) {
+        long start = System.nanoTime();
+        Engine[] pair = engines.get();
+        for (Engine engine : pair) {
+            engine.reset(); // Each game starts from scratch
+        }
+        GameState gameState = new GameState(size, discsToWin, aFirst ? 1 : 0);
+        Board board = gameState.getBoard();
+        char winner = 'D';
+        int moves = 0;
+        while (!gameState.isGameOver()) {
+            int player = gameState.getCurrentPlayer();
+            EngineSettings settings = player == 1 ? engineA : engineB;
+            Engine engine = pair[player - 1];
+            if (engine instanceof AIPlayer alphaBeta) {
+                alphaBeta.setMoveOrdering(settings.moveOrdering());
+                alphaBeta.setPrincipalVariationSearch(settings.pvs());
+            }
+            SearchResult result = engine.search(board, discsToWin, player,
+                    settings.timeMillis(), settings.nodeBudget());
+            gameState.dropPiece(result.column(), player);
+            moves++;
+            if (board.wonByLastMove(discsToWin)) {
+                winner = player == 1 ? 'A' : 'B';
+                gameState.setGameOver(true);
+            } else if (gameState.isBoardFull()) {
+                gameState.setGameOver(true);
+            } else {
+                gameState.switchPlayer();
+            }
+        }
+        return new GameResult(size, discsToWin, aFirst, winner, moves, System.nanoTime() - start);
+    }
+
+    /**
+     * Creates a single-threaded engine for one side.
+     *
+     * @param settings The side's settings
+     * @return A new engine of the configured kind
+     */
+    private static Engine createEngine(EngineSettings settings) {
+        return settings.engine().equals("mcts") ? new MonteCarloPlayer(TREE_SIZE_BITS) : new AIPlayer(TABLE_SIZE_BITS);
+    }
+
+    /**
+     * Checks an engine name.
+     *
+     * @param engine The value of an {@code --engine-X} option
+     * @return true for "alphabeta" and "mcts"
+     */
+    private static boolean isKnownEngine(String engine) {
+        return engine.equals("alphabeta") || engine.equals("mcts");
+    }
+
+    /**
+     * Prints win, draw and throughput figures for every shape, then the search counters.
+     *
+     * @param totals    Per-shape totals: A wins, B wins, draws, moves, game nanoseconds
+     * @param games     The number of games per shape
+     * @param wallNanos The wall-clock duration of the whole tournament
+     */
+    private static void printSummary(Map<String, long[]> totals, int games, long wallNanos) {
+        System.out.println();
+        System.out.printf("%-6s %6s %7s %7s %7s %8s%n", "shape", "games", "A win%", "B win%", "draw%", "moves/s");
+        long allMoves = 0;
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] t = entry.getValue();
+            allMoves += t[3];
+            System.out.printf("%-6s %6d %6.1f%% %6.1f%% %6.1f%% %8.1f%n", entry.getKey(), games,
+                    100.0 * t[0] / games, 100.0 * t[1] / games, 100.0 * t[2] / games,
+                    t[4] == 0 ? 0.0 : t[3] * 1e9 / t[4]);
+        }
+        System.out.printf("%nTotal: %d moves in %.1fs wall time (%.1f moves/s across all workers)%n",
+                allMoves, wallNanos / 1e9, allMoves * 1e9 / wallNanos);
+        System.out.println("Search counters: " + SearchMetrics.format());
+    }
+
+    /**
+     * Reads one side's engine settings from the options.
+     *
+     * @param options The parsed options
+     * @param side    "a" or "b"
+     * @return The settings, with defaults for missing options
+     */
+    private static EngineSettings settings(Map<String, String> options, String side) {
+        return new EngineSettings(options.getOrDefault("engine-" + side, "alphabeta"),
+                Long.parseLong(options.getOrDefault("time-" + side, "50")),
+                Long.parseLong(options.getOrDefault("nodes-" + side, "0")),
+                Boolean.parseBoolean(options.getOrDefault("ordering-" + side, "true")),
+                Boolean.parseBoolean(options.getOrDefault("pvs-" + side, "true")));
+    }
+
+    /**
+     * Expands N and M values or ranges into the valid (N, M) pairs.
+     *
+     * @param sizes The N value or range, e.g. "7" or "5-10"
+     * @param wins  The M value or range
+     * @return The pairs with 3 ≤ N ≤ 10 and 2 ≤ M ≤ N
+     */
+    static List<int[]> shapes(String sizes, String wins) {
+        int[] n = range(sizes);
+        int[] m = range(wins);
+        List<int[]> shapes = new ArrayList<>();
+        for (int size = Math.max(3, n[0]); size <= Math.min(10, n[1]); size++) {
+            for (int discs = Math.max(2, m[0]); discs <= Math.min(size, m[1]); discs++) {
+                shapes.add(new int[]{size, discs});
+            }
+        }
+        return shapes;
+    }
+
+    /**
+     * Parses a value such as "7" or a range such as "5-10".
+     *
+     * @param value The option value
+     * @return The inclusive lower and upper bounds
+     */
+    private static int[] range(String value) {
+        int dash = value.indexOf('-');
+        if (dash < 0) {
+            int single = Integer.parseInt(value);
+            return new int[]{single, single};
+        }
+        return new int[]{Integer.parseInt(value.substring(0, dash)), Integer.parseInt(value.substring(dash + 1))};
+    }
+
+    /**
+     * Parses {@code --name=value} arguments.
+     *
+     * @param args The command-line arguments
+     * @return The options by name, or null if an argument is malformed
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                System.err.println("Arguments must look like --name=value: " + arg);
+                return null;
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,74 @@
+package com.connectm.headless;
+
+import com.connectm.ai.ProofSolver;
+import com.connectm.ai.SolverCache;
+import com.connectm.ai.SolverResult;
+import com.connectm.model.Board;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Headless entry point that proves who wins an (N, M) game with perfect play, or the value of a
+ * position reached by a given move sequence, using the {@link ProofSolver}.
+ * <p>
+ * Options (all optional): {@code --n=5 --m=4 --first=1 --moves=2,2,3 --time=0 --nodes=0}
+ * {@code --table-bits=22 --cache=<file>|none}. Columns in {@code --moves} count from 0 and are
+ * played alternately starting with {@code --first}; a zero time or node budget means no limit.
+ * Progress is printed while the proof runs, and proven results are added to the solver cache
+ * (by default the one the game uses).
+ */
+public class SolvePosition {
+    public static void main(String[] args) {
+        Map<String, String> options = SelfPlayTournament.parseOptions(args);
+        if (options == null) {
+            System.exit(1);
+        }
+        try {
+            int size = Integer.parseInt(options.getOrDefault("n", "5"));
+            int discsToWin = Integer.parseInt(options.getOrDefault("m", "4"));
+            int player = Integer.parseInt(options.getOrDefault("first", "1"));
+            if (size < 3 || size > 10 || discsToWin < 2 || discsToWin > size || (player != 1 && player != 2)) {
+                System.err.println("Need 3 ≤ N ≤ 10, 2 ≤ M ≤ N and --first=1 or 2.");
+                System.exit(1);
+            }
+            Board board = new Board(size);
+            String moves = options.getOrDefault("moves", "");
+            for (String move : moves.isEmpty() ? new String[0] : moves.split(",")) {
+                int col = Integer.parseInt(move.trim());
+                if (col < 0 || col >= size || board.isColumnFull(col)) {
+                    System.err.println("Illegal move in --moves: " + col);
+                    System.exit(1);
+                }
+                board.dropPiece(col, player);
+                if (board.wonByLastMove(discsToWin)) {
+                    System.out.println("Player " + player + " has already won.");
+                    return;
+                }
+                player = 3 - player;
+            }
+
+            ProofSolver solver = new ProofSolver(Integer.parseInt(options.getOrDefault("table-bits", "22")));
+            String cache = options.getOrDefault("cache", SolverCache.defaultFile().toString());
+            if (!cache.equals("none")) {
+                solver.setCache(new SolverCache(Path.of(cache)));
+            }
+            long start = System.nanoTime();
+            solver.setProgressListener((nodes, proof, disproof) -> System.out.printf(
+                    "  %,d nodes, %.1fs, root proof=%d disproof=%d%n",
+                    nodes, (System.nanoTime() - start) / 1e9, proof, disproof));
+            SolverResult result = solver.solve(board, discsToWin, player,
+                    Long.parseLong(options.getOrDefault("time", "0")),
+                    Long.parseLong(options.getOrDefault("nodes", "0")));
+
+            System.out.printf("%dx%d, player %d to move: %s", size, discsToWin, player, result.outcome());
+            if (result.column() != -1) {
+                System.out.printf(" (play column %d)", result.column());
+            }
+            System.out.printf("%n%,d nodes in %.1fs%n", result.nodes(), result.elapsedMillis() / 1000.0);
+        } catch (NumberFormatException e) {
+            System.err.println("Option values must be integers: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
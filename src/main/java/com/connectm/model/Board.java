@@ -1,21 +1,45 @@
 package com.connectm.model;
 
 import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
- * Represents the Connect M game board as a 2D grid, managing piece placement and win conditions.
+ * Represents the Connect M game board, managing piece placement and win conditions.
+ * <p>
+ * Internally each player's discs are kept as a bitboard: column {@code c} occupies bits
+ * {@code c * (N + 1)} to {@code c * (N + 1) + N - 1} (bottom to top), with one always-empty
+ * padding bit above each column so that shifted runs never wrap into the next column. For
+ * N ≤ 10 this fits in 110 bits, stored as a low/high pair of longs. The 2D grid returned by
+ * {@link #getState()} is kept in sync with them.
+ * <p>
+ * A board is not thread-safe. Code that reads a position while another thread may be changing
+ * it should take a {@link #snapshot()} instead.
+ * <p>
+ * The board also maintains a Zobrist hash of the position, updated incrementally on every drop
+ * and removal. The keys come from a fixed seed, so hashes are stable across runs. A second hash
+ * of the left-right mirrored position is kept alongside it, so a position and its mirror image
+ * can be recognized as having the same value.
  */
 public class Board {
     private static final int EMPTY_CELL = 0;      // Represents an empty cell
-    private static final int[][] WIN_DIRECTIONS = {
-            {1, 0},   // Vertical
-            {0, 1},   // Horizontal
-            {1, 1},   // Diagonal (\)
-            {1, -1}   // Diagonal (/)
-    };
+    private static final int MAX_SIZE = 10;       // Largest N that fits in two longs
+    private static final long ZOBRIST_SEED = 0x436F6E6E6563744DL; // Fixed so hashes are reproducible
+    private static final long[][] ZOBRIST_KEYS = createZobristKeys();
 
     private final int size;        // Board size (N x N)
+    private final int height;      // Bits per column including the padding bit (N + 1)
     private final int[][] board;   // Board state: 0 = empty, 1 = player 1, 2 = player 2
+    private final long[] bitsLo;   // Per-player bitboard, bits 0-63 (indexed by player)
+    private final long[] bitsHi;   // Per-player bitboard, bits 64-127 (indexed by player)
+    private final int[] winShifts; // Bit shifts for vertical, horizontal and both diagonals
+    private final int[] moveHistory; // Columns played, in order, so undo can restore the last move
+    private final int[] heights;     // Number of discs in each column
+    private int discCount;           // Total discs on the board (entries in moveHistory)
+    private int lastRow = -1;        // Row of the most recent disc still on the board, or -1
+    private int lastCol = -1;        // Column of the most recent disc still on the board, or -1
+    private long hash;               // Zobrist hash of the current position
+    private long mirrorHash;         // Zobrist hash of the position mirrored left to right
+    private LineTable lines;         // Lines of the win length last checked, or null
 
     /**
      * Constructs a new board of the specified size.
@@ -23,8 +47,47 @@ public class Board {
      * @param size The number of rows and columns (N)
      */
     public Board(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIZE + ": " + size);
+        }
         this.size = size;
+        this.height = size + 1;
         this.board = new int[size][size];
+        this.bitsLo = new long[3];
+        this.bitsHi = new long[3];
+        this.winShifts = new int[]{
+                1,          // Vertical
+                height,     // Horizontal
+                height + 1, // Diagonal (/)
+                height - 1  // Diagonal (\)
+        };
+        this.moveHistory = new int[size * size];
+        this.heights = new int[size];
+    }
+
+    /**
+     * Constructs an independent copy of another board, including its move history and hash.
+     *
+     * @param other The board to copy
+     */
+    public Board(Board other) {
+        this.size = other.size;
+        this.height = other.height;
+        this.board = new int[size][];
+        for (int row = 0; row < size; row++) {
+            this.board[row] = other.board[row].clone();
+        }
+        this.bitsLo = other.bitsLo.clone();
+        this.bitsHi = other.bitsHi.clone();
+        this.winShifts = other.winShifts;
+        this.moveHistory = other.moveHistory.clone();
+        this.heights = other.heights.clone();
+        this.discCount = other.discCount;
+        this.lastRow = other.lastRow;
+        this.lastCol = other.lastCol;
+        this.hash = other.hash;
+        this.mirrorHash = other.mirrorHash;
+        this.lines = other.lines;
     }
 
     /**
@@ -37,7 +100,8 @@ public class Board {
     }
 
     /**
-     * Returns the current state of the board.
+     * Returns the current state of the board. The array is live: it changes with every drop and
+     * removal, so only the thread that owns the board should read it.
      *
      * @return The 2D array representing the board
      */
@@ -45,6 +109,52 @@ public class Board {
         return board;
     }
 
+    /**
+     * Captures the current position as an immutable snapshot, in constant time.
+     *
+     * @return The snapshot
+     */
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(size, bitsLo[1], bitsHi[1], bitsLo[2], bitsHi[2], hash, mirrorHash, discCount, lastCol);
+    }
+
+    /**
+     * Returns the Zobrist hash of the current position. Equal positions always have equal
+     * hashes, regardless of the order the discs were played in.
+     *
+     * @return The 64-bit position hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position mirrored left to right, i.e. the value
+     * {@link #getHash()} would return with every column c moved to column N-1-c.
+     *
+     * @return The 64-bit hash of the mirror image
+     */
+    public long getMirrorHash() {
+        return mirrorHash;
+    }
+
+    /**
+     * Checks whether the position is its own mirror image, e.g. the empty board.
+     *
+     * @return true if every column holds the same discs as its mirrored column
+     */
+    public boolean isSymmetric() {
+        if (hash != mirrorHash) return false;
+        for (int col = 0; col < size / 2; col++) {
+            int mirrorCol = size - 1 - col;
+            if (heights[col] != heights[mirrorCol]) return false;
+            for (int row = size - heights[col]; row < size; row++) {
+                if (board[row][col] != board[row][mirrorCol]) return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Checks if the specified column is full.
      *
@@ -52,7 +162,45 @@ public class Board {
      * @return true if the column is full, false otherwise
      */
     public boolean isColumnFull(int col) {
-        return board[0][col] != EMPTY_CELL; // Top cell is not empty → column is full
+        return heights[col] == size;
+    }
+
+    /**
+     * Checks if every cell on the board is occupied.
+     *
+     * @return true if the board is full, false otherwise
+     */
+    public boolean isFull() {
+        return discCount == size * size;
+    }
+
+    /**
+     * Returns the number of discs currently in the specified column.
+     *
+     * @param col The column index (0 to N-1)
+     * @return The column height (0 to N)
+     */
+    public int getColumnHeight(int col) {
+        return heights[col];
+    }
+
+    /**
+     * Returns the row a piece dropped into the specified column would land in.
+     *
+     * @param col The column index (0 to N-1)
+     * @return The landing row, or -1 if the column is full
+     */
+    public int getNextRow(int col) {
+        return size - 1 - heights[col];
+    }
+
+    /**
+     * Returns the total number of discs on the board.
+     *
+     * @return The disc count (0 to N*N)
+     */
+    public int getDiscCount() {
+        return discCount;
     }
 
     /**
@@ -63,97 +211,233 @@ public class Board {
      * @return The row where the piece landed, or -1 if the column is full
      */
     public int dropPiece(int col, int piece) {
-        if (isColumnFull(col)) {
+        int filled = heights[col];
+        if (filled == size) {
             return -1;
         }
-        int row = size - 1;
-        while (row >= 0 && board[row][col] != EMPTY_CELL) {
-            row--;
+        int row = size - 1 - filled;
+        int bit = col * height + filled;
+        board[row][col] = piece;
+        setBit(piece, bit);
+        hash ^= ZOBRIST_KEYS[piece][bit];
+        mirrorHash ^= ZOBRIST_KEYS[piece][(size - 1 - col) * height + filled];
+        heights[col] = filled + 1;
+        moveHistory[discCount++] = col;
+        lastRow = row;
+        lastCol = col;
+        return row;
+    }
+
+    /**
+     * Returns the row of the most recently dropped disc that is still on the board.
+     *
+     * @return The row index, or -1 if the board is empty
+     */
+    public int getLastMoveRow() {
+        return lastRow;
+    }
+
+    /**
+     * Returns the column of the most recently dropped disc that is still on the board.
+     *
+     * @return The column index, or -1 if the board is empty
+     */
+    public int getLastMoveColumn() {
+        return lastCol;
+    }
+
+    /**
+     * Checks whether the most recently dropped disc completed a line for its owner. Only that
+     * disc can have created a new win, so this tests just the lines through it from the shared
+     * {@link LineTable}, each with one mask comparison, instead of scanning the whole board.
+     *
+     * @param discsToWin The number of discs required to win (M)
+     * @return true if the last move won the game, false otherwise (or if the board is empty)
+     */
+    public boolean wonByLastMove(int discsToWin) {
+        if (lastRow == -1) {
+            return false;
         }
-        if (row >= 0) {
-            board[row][col] = piece;
-            return row;
+        int player = board[lastRow][lastCol];
+        return lineTable(discsToWin).completesLine(lastRow, lastCol, bitsLo[player], bitsHi[player]);
+    }
+
+    /**
+     * Checks whether dropping a disc into a column would complete a line for a player, without
+     * changing the board (and its hashes and history) as a drop and removal would.
+     *
+     * @param col        The column index (0 to N-1)
+     * @param player     The player to drop for (1 or 2)
+     * @param discsToWin The number of discs required to win (M)
+     * @return true if the drop would win, false otherwise (or if the column is full)
+     */
+    public boolean winsAt(int col, int player, int discsToWin) {
+        int filled = heights[col];
+        if (filled == size) {
+            return false;
         }
-        return -1;
+        int bit = col * height + filled;
+        long lo = bit < Long.SIZE ? bitsLo[player] | 1L << bit : bitsLo[player];
+        long hi = bit < Long.SIZE ? bitsHi[player] : bitsHi[player] | 1L << (bit - Long.SIZE);
+        return lineTable(discsToWin).completesLine(size - 1 - filled, col, lo, hi);
     }
 
     /**
      * Checks if the specified player has won by connecting the required number of discs.
+     * Each direction is tested with shift-and-mask over the player's bitboard: after ANDing the
+     * board with itself shifted by 1..M-1 steps, any surviving bit marks the start of a run of M.
      *
      * @param player     The player to check for (1 or 2)
      * @param discsToWin The number of discs required to win (M)
      * @return true if the player has won, false otherwise
      */
     public boolean checkWin(int player, int discsToWin) {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (board[row][col] == player) {
-                    for (int[] dir : WIN_DIRECTIONS) {
-                        int count = countConsecutive(row, col, dir[0], dir[1], player);
-                        if (count >= discsToWin) {
-                            return true;
-                        }
-                    }
-                }
+        long lo = bitsLo[player];
+        long hi = bitsHi[player];
+        if (lo == 0 && hi == 0) {
+            return false;
+        }
+        for (int shift : winShifts) {
+            long runLo = lo;
+            long runHi = hi;
+            for (int step = 1; step < discsToWin && (runLo != 0 || runHi != 0); step++) {
+                int distance = shift * step;
+                runLo &= shiftRightLo(lo, hi, distance);
+                runHi &= shiftRightHi(hi, distance);
+            }
+            if (runLo != 0 || runHi != 0) {
+                return true;
             }
         }
         return false;
     }
 
     /**
-     * Counts consecutive pieces for a player in a given direction, including both forward and backward.
-     *
-     * @param row    The starting row position
-     * @param col    The starting column position
-     * @param rowDir The row direction to check (e.g., 1 for down, -1 for up)
-     * @param colDir The column direction to check (e.g., 1 for right, -1 for left)
-     * @param player The player to count for (1 or 2)
-     * @return The total number of consecutive pieces in the direction
+     * Clears the board by setting all cells to empty.
      */
-    private int countConsecutive(int row, int col, int rowDir, int colDir, int player) {
-        int count = 1; // Start with the current piece
-
-        // Check forward direction
-        int r = row + rowDir;
-        int c = col + colDir;
-        while (r >= 0 && r < size && c >= 0 && c < size && board[r][c] == player) {
-            count++;
-            r += rowDir;
-            c += colDir;
+    public void clearBoard() {
+        for (int i = 0; i < size; i++) {
+            Arrays.fill(board[i], EMPTY_CELL);
         }
+        Arrays.fill(bitsLo, 0L);
+        Arrays.fill(bitsHi, 0L);
+        Arrays.fill(heights, 0);
+        discCount = 0;
+        hash = 0L;
+        mirrorHash = 0L;
+        lastRow = -1;
+        lastCol = -1;
+    }
 
-        // Check backward direction
-        r = row - rowDir;
-        c = col - colDir;
-        while (r >= 0 && r < size && c >= 0 && c < size && board[r][c] == player) {
-            count++;
-            r -= rowDir;
-            c -= colDir;
+    /**
+     * Removes the topmost piece from the specified column.
+     *
+     * @param col The column index (0 to N-1)
+     */
+    public void removePiece(int col) {
+        int filled = heights[col];
+        if (filled == 0) {
+            return;
         }
+        int row = size - filled;
+        int piece = board[row][col];
+        int bit = col * height + filled - 1;
+        board[row][col] = EMPTY_CELL;
+        clearBit(piece, bit);
+        hash ^= ZOBRIST_KEYS[piece][bit];
+        mirrorHash ^= ZOBRIST_KEYS[piece][(size - 1 - col) * height + filled - 1];
+        heights[col] = filled - 1;
+        forgetMove(col);
+    }
 
-        return count;
+    /**
+     * Drops the latest history entry for the given column and re-derives the last move from
+     * whatever is now on top of the history.
+     *
+     * @param col The column whose top disc was removed
+     */
+    private void forgetMove(int col) {
+        for (int i = discCount - 1; i >= 0; i--) {
+            if (moveHistory[i] == col) {
+                System.arraycopy(moveHistory, i + 1, moveHistory, i, discCount - i - 1);
+                discCount--;
+                break;
+            }
+        }
+        if (discCount == 0) {
+            lastRow = -1;
+            lastCol = -1;
+        } else {
+            lastCol = moveHistory[discCount - 1];
+            lastRow = size - heights[lastCol];
+        }
     }
 
     /**
-     * Clears the board by setting all cells to empty.
+     * Returns the shared line table for this board's size and the given win length, remembering
+     * it so repeated checks skip the cache lookup.
+     *
+     * @param discsToWin The number of discs required to win (M)
+     * @return The line table
      */
-    public void clearBoard() {
-        for (int i = 0; i < size; i++) {
-            Arrays.fill(board[i], EMPTY_CELL);
+    private LineTable lineTable(int discsToWin) {
+        LineTable table = lines;
+        if (table == null || table.getDiscsToWin() != discsToWin) {
+            table = LineTable.of(size, discsToWin);
+            lines = table;
         }
+        return table;
     }
 
     /**
-     * Removes the topmost piece from the specified column.
+     * Generates one random key per player per bit position of the largest supported board.
      *
-     * @param col The column index (0 to N-1)
+     * @return Keys indexed by player (1 or 2) and bit position
      */
-    public void removePiece(int col) {
-        for (int row = 0; row < size; row++) {
-            if (board[row][col] != EMPTY_CELL) {
-                board[row][col] = EMPTY_CELL;
-                return;
+    private static long[][] createZobristKeys() {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        long[][] keys = new long[3][MAX_SIZE * (MAX_SIZE + 1)];
+        for (int player = 1; player <= 2; player++) {
+            for (int bit = 0; bit < keys[player].length; bit++) {
+                keys[player][bit] = random.nextLong();
             }
         }
+        return keys;
+    }
+
+    private void setBit(int player, int bit) {
+        if (bit < Long.SIZE) {
+            bitsLo[player] |= 1L << bit;
+        } else {
+            bitsHi[player] |= 1L << (bit - Long.SIZE);
+        }
+    }
+
+    private void clearBit(int player, int bit) {
+        if (bit < Long.SIZE) {
+            bitsLo[player] &= ~(1L << bit);
+        } else {
+            bitsHi[player] &= ~(1L << (bit - Long.SIZE));
+        }
+    }
+
+    /**
+     * Returns the low word of a 128-bit value shifted right (towards bit 0).
+     */
+    private static long shiftRightLo(long lo, long hi, int distance) {
+        if (distance == 0) {
+            return lo;
+        }
+        if (distance < Long.SIZE) {
+            return (lo >>> distance) | (hi << (Long.SIZE - distance));
+        }
+        return distance < 2 * Long.SIZE ? hi >>> (distance - Long.SIZE) : 0L;
+    }
+
+    /**
+     * Returns the high word of a 128-bit value shifted right (towards bit 0).
+     */
+    private static long shiftRightHi(long hi, int distance) {
+        return distance < Long.SIZE ? hi >>> distance : 0L;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package com.connectm.model;
+
+/**
+ * An immutable copy of a board position, safe to read from any thread without locking.
+ * <p>
+ * The position is packed into the same per-player bitboards the {@link Board} keeps (column
+ * {@code c} at bits {@code c * (N + 1)} upwards, bottom to top), so taking a snapshot copies a
+ * handful of primitives and no arrays. Cell, height and fullness queries decode the bits on
+ * demand; {@link #toBoard()} rebuilds a mutable board, e.g. for a search.
+ */
+public final class BoardSnapshot {
+    private final int size;        // Board size (N x N)
+    private final long player1Lo;  // Player 1 bitboard, bits 0-63
+    private final long player1Hi;  // Player 1 bitboard, bits 64-127
+    private final long player2Lo;  // Player 2 bitboard, bits 0-63
+    private final long player2Hi;  // Player 2 bitboard, bits 64-127
+    private final long hash;       // Zobrist hash of the position
+    private final long mirrorHash; // Zobrist hash of the mirrored position
+    private final int discCount;   // Total discs on the board
+    private final int lastCol;     // Column of the most recent disc, or -1
+
+    /**
+     * Captures a position. Called by {@link Board#snapshot()}.
+     *
+     * @param size       The board size (N)
+     * @param player1Lo  Player 1 bitboard, bits 0-63
+     * @param player1Hi  Player 1 bitboard, bits 64-127
+     * @param player2Lo  Player 2 bitboard, bits 0-63
+     * @param player2Hi  Player 2 bitboard, bits 64-127
+     * @param hash       The Zobrist hash
+     * @param mirrorHash The Zobrist hash of the mirror image
+     * @param discCount  The number of discs on the board
+     * @param lastCol    The column of the most recent disc, or -1
+     */
+    BoardSnapshot(int size, long player1Lo, long player1Hi, long player2Lo, long player2Hi,
+                  long hash, long mirrorHash, int discCount, int lastCol) {
+        this.size = size;
+        this.player1Lo = player1Lo;
+        this.player1Hi = player1Hi;
+        this.player2Lo = player2Lo;
+        this.player2Hi = player2Hi;
+        this.hash = hash;
+        this.mirrorHash = mirrorHash;
+        this.discCount = discCount;
+        this.lastCol = lastCol;
+    }
+
+    /**
+     * Returns the size of the board (N).
+     *
+     * @return The number of rows and columns
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the disc in a cell, using the same coordinates as {@link Board#getState()}.
+     *
+     * @param row The row index, 0 at the top
+     * @param col The column index (0 to N-1)
+     * @return 0 if the cell is empty, otherwise the owning player (1 or 2)
+     */
+    public int get(int row, int col) {
+        int bit = col * (size + 1) + size - 1 - row;
+        if (testBit(player1Lo, player1Hi, bit)) return 1;
+        if (testBit(player2Lo, player2Hi, bit)) return 2;
+        return 0;
+    }
+
+    /**
+     * Returns the number of discs in a column.
+     *
+     * @param col The column index (0 to N-1)
+     * @return The column height (0 to N)
+     */
+    public int getColumnHeight(int col) {
+        int shift = col * (size + 1);
+        long mask = (1L << size) - 1;
+        long occupied = (column(player1Lo, player1Hi, shift) | column(player2Lo, player2Hi, shift)) & mask;
+        return Long.bitCount(occupied);
+    }
+
+    /**
+     * Checks if the specified column is full.
+     *
+     * @param col The column index (0 to N-1)
+     * @return true if the column is full, false otherwise
+     */
+    public boolean isColumnFull(int col) {
+        return getColumnHeight(col) == size;
+    }
+
+    /**
+     * Returns the row a piece dropped into the specified column would land in.
+     *
+     * @param col The column index (0 to N-1)
+     * @return The landing row, or -1 if the column is full
+     */
+    public int getNextRow(int col) {
+        return size - 1 - getColumnHeight(col);
+    }
+
+    /**
+     * Checks if every cell on the board is occupied.
+     *
+     * @return true if the board is full, false otherwise
+     */
+    public boolean isFull() {
+        return discCount == size * size;
+    }
+
+    /**
+     * Returns the total number of discs on the board.
+     *
+     * @return The disc count (0 to N*N)
+     */
+    public int getDiscCount() {
+        return discCount;
+    }
+
+    /**
+     * Returns the column of the most recently dropped disc.
+     *
+     * @return The column index, or -1 if the board is empty
+     */
+    public int getLastMoveColumn() {
+        return lastCol;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position; see {@link Board#getHash()}.
+     *
+     * @return The 64-bit position hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist hash of the mirrored position; see {@link Board#getMirrorHash()}.
+     *
+     * @return The 64-bit hash of the mirror image
+     */
+    public long getMirrorHash() {
+        return mirrorHash;
+    }
+
+    /**
+     * Rebuilds a mutable board holding this position, with the same hashes and last move. The
+     * move history is reconstructed column by column, since the actual move order is not kept.
+     *
+     * @return A new board
+     */
+    public Board toBoard() {
+        Board board = new Board(size);
+        for (int col = 0; col < size; col++) {
+            if (col != lastCol) {
+                fillColumn(board, col);
+            }
+        }
+        if (lastCol != -1) {
+            fillColumn(board, lastCol); // Its top disc becomes the last move
+        }
+        return board;
+    }
+
+    /**
+     * Drops this snapshot's discs of one column into a board, bottom to top.
+     *
+     * @param board The board to fill
+     * @param col   The column index (0 to N-1)
+     */
+    private void fillColumn(Board board, int col) {
+        int height = getColumnHeight(col);
+        for (int row = size - 1; row >= size - height; row--) {
+            board.dropPiece(col, get(row, col));
+        }
+    }
+
+    /**
+     * Extracts the bits of one column from a 128-bit bitboard.
+     *
+     * @param lo    The low word
+     * @param hi    The high word
+     * @param shift The column's first bit
+     * @return The column's bits, starting at bit 0 (unmasked)
+     */
+    private static long column(long lo, long hi, int shift) {
+        if (shift == 0) return lo;
+        if (shift < Long.SIZE) return (lo >>> shift) | (hi << (Long.SIZE - shift));
+        return hi >>> (shift - Long.SIZE);
+    }
+
+    private static boolean testBit(long lo, long hi, int bit) {
+        return bit < Long.SIZE ? (lo >>> bit & 1L) != 0 : (hi >>> (bit - Long.SIZE) & 1L) != 0;
+    }
+}
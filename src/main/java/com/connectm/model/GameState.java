@@ -2,6 +2,10 @@ package com.connectm.model;
 
 /**
  * Tracks the state of the Connect M game, including the board, current player, and win conditions.
+ * <p>
+ * After every change made through this class, an immutable {@link BoardSnapshot} of the board is
+ * published. Other threads (the view, AI searches, analysis tools) read the snapshot instead of
+ * the live board, so they never see a move half made.
  */
 public class GameState {
     private static final int PLAYER_1 = 1; // Human player
@@ -11,6 +15,7 @@ public class GameState {
     private final int discsToWin;      // Number of discs needed to win (M)
     private int currentPlayer;         // Current player (1 or 2)
     private boolean gameOver;          // Whether the game has ended
+    private volatile BoardSnapshot snapshot; // The board as of the last change
 
     /**
      * Constructs a new game state with the specified parameters.
@@ -24,10 +29,12 @@ public class GameState {
         this.discsToWin = discsToWin;
         this.currentPlayer = startingPlayer == 0 ? PLAYER_2 : PLAYER_1;
         this.gameOver = false;
+        this.snapshot = board.snapshot();
     }
 
     /**
-     * Returns the game board.
+     * Returns the game board. Moves made directly on it are not published; use
+     * {@link #dropPiece(int, int)} and {@link #clearBoard()} instead.
      *
      * @return The Board instance
      */
@@ -35,6 +42,36 @@ public class GameState {
         return board;
     }
 
+    /**
+     * Returns the latest published snapshot of the board. Safe to call from any thread.
+     *
+     * @return The snapshot taken after the last move or reset
+     */
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Drops a piece for a player and publishes the new position.
+     *
+     * @param col    The column index to drop into (0 to N-1)
+     * @param player The player identifier (1 or 2)
+     * @return The row where the piece landed, or -1 if the column is full
+     */
+    public int dropPiece(int col, int player) {
+        int row = board.dropPiece(col, player);
+        snapshot = board.snapshot();
+        return row;
+    }
+
+    /**
+     * Empties the board for a new game and publishes the empty position.
+     */
+    public void clearBoard() {
+        board.clearBoard();
+        snapshot = board.snapshot();
+    }
+
     /**
      * Returns the current player.
      *
@@ -84,11 +121,6 @@ public class GameState {
      * @return true if the board is full, false otherwise
      */
     public boolean isBoardFull() {
-        for (int col = 0; col < board.getSize(); col++) {
-            if (!board.isColumnFull(col)) {
-                return false;
-            }
-        }
-        return true;
+        return board.isFull();
     }
 }
\ No newline at end of file
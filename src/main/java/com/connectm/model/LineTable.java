@@ -0,0 +1,183 @@
+package com.connectm.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The geometry of every winning line on an N x N board with win length M, computed once per
+ * (N, M) and shared by all boards, searches and games of that shape.
+ * <p>
+ * A line is a horizontal, vertical or diagonal run of M cells. Each line is stored as a bitmask
+ * in the {@link Board}'s bitboard layout (column {@code c} at bits {@code c * (N + 1)} upwards,
+ * bottom to top), so a player completes a line when their bitboard contains its whole mask. For
+ * each cell the table also lists the lines through it, which are the only lines a disc dropped
+ * there can complete or block.
+ * <p>
+ * Tables are immutable and cached for the life of the process; get them with {@link #of}.
+ */
+public final class LineTable {
+    private static final Map<Integer, LineTable> CACHE = new ConcurrentHashMap<>(); // By (N, M)
+    private static final int[][] DIRECTIONS = {
+            {1, 0},  // Vertical
+            {0, 1},  // Horizontal
+            {1, 1},  // Diagonal (\)
+            {1, -1}  // Diagonal (/)
+    };
+
+    private final int size;          // Board size (N)
+    private final int discsToWin;    // Line length (M)
+    private final long[] masksLo;    // Bits 0-63 of each line's mask
+    private final long[] masksHi;    // Bits 64-127 of each line's mask
+    private final int[][] cellLines; // Line indices through each cell (row * N + col)
+
+    /**
+     * Enumerates the lines of one shape. Called once per shape by {@link #of}.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     */
+    private LineTable(int size, int discsToWin) {
+        this.size = size;
+        this.discsToWin = discsToWin;
+
+        // Count lines per cell first so the index arrays can be sized exactly
+        int[] perCell = new int[size * size];
+        int lineCount = 0;
+        for (int[] dir : DIRECTIONS) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (fits(row, col, dir)) {
+                        for (int k = 0; k < discsToWin; k++) {
+                            perCell[(row + k * dir[0]) * size + col + k * dir[1]]++;
+                        }
+                        lineCount++;
+                    }
+                }
+            }
+        }
+        this.masksLo = new long[lineCount];
+        this.masksHi = new long[lineCount];
+        this.cellLines = new int[size * size][];
+        for (int cell = 0; cell < cellLines.length; cell++) {
+            cellLines[cell] = new int[perCell[cell]];
+            perCell[cell] = 0;
+        }
+        int line = 0;
+        for (int[] dir : DIRECTIONS) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (fits(row, col, dir)) {
+                        for (int k = 0; k < discsToWin; k++) {
+                            int r = row + k * dir[0];
+                            int c = col + k * dir[1];
+                            int bit = c * (size + 1) + size - 1 - r;
+                            if (bit < Long.SIZE) {
+                                masksLo[line] |= 1L << bit;
+                            } else {
+                                masksHi[line] |= 1L << (bit - Long.SIZE);
+                            }
+                            cellLines[r * size + c][perCell[r * size + c]++] = line;
+                        }
+                        line++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared table for a board shape, building it on first use.
+     *
+     * @param size       The board size (N)
+     * @param discsToWin The number of discs required to win (M)
+     * @return The table
+     */
+    public static LineTable of(int size, int discsToWin) {
+        if (discsToWin < 1) {
+            throw new IllegalArgumentException("Win length must be at least 1: " + discsToWin);
+        }
+        return CACHE.computeIfAbsent(size * 256 + discsToWin, key -> new LineTable(size, discsToWin));
+    }
+
+    /**
+     * Returns the board size the table was built for.
+     *
+     * @return N
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the line length the table was built for.
+     *
+     * @return M
+     */
+    public int getDiscsToWin() {
+        return discsToWin;
+    }
+
+    /**
+     * Returns the number of lines on the board.
+     *
+     * @return The line count
+     */
+    public int getLineCount() {
+        return masksLo.length;
+    }
+
+    /**
+     * Returns the lines through a cell. The array is shared and must not be modified.
+     *
+     * @param row The row index, 0 at the top
+     * @param col The column index (0 to N-1)
+     * @return The indices of the lines containing the cell
+     */
+    public int[] linesThrough(int row, int col) {
+        return cellLines[row * size + col];
+    }
+
+    /**
+     * Returns bits 0-63 of a line's bitboard mask.
+     *
+     * @param line The line index
+     * @return The low word of the mask
+     */
+    public long maskLo(int line) {
+        return masksLo[line];
+    }
+
+    /**
+     * Returns bits 64-127 of a line's bitboard mask.
+     *
+     * @param line The line index
+     * @return The high word of the mask
+     */
+    public long maskHi(int line) {
+        return masksHi[line];
+    }
+
+    /**
+     * Checks whether a bitboard completes any line through a cell.
+     *
+     * @param row The row index, 0 at the top
+     * @param col The column index (0 to N-1)
+     * @param lo  Bits 0-63 of a player's bitboard
+     * @param hi  Bits 64-127 of a player's bitboard
+     * @return true if the bitboard contains a whole line through the cell
+     */
+    public boolean completesLine(int row, int col, long lo, long hi) {
+        for (int line : cellLines[row * size + col]) {
+            if ((lo & masksLo[line]) == masksLo[line] && (hi & masksHi[line]) == masksHi[line]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean fits(int row, int col, int[] dir) {
+        int endRow = row + (discsToWin - 1) * dir[0];
+        int endCol = col + (discsToWin - 1) * dir[1];
+        return endRow >= 0 && endRow < size && endCol >= 0 && endCol < size;
+    }
+}
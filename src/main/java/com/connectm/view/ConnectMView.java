@@ -1,7 +1,7 @@
 package com.connectm.view;
 
 import com.connectm.controller.GameController;
-import com.connectm.model.Board;
+import com.connectm.model.BoardSnapshot;
 import com.connectm.model.GameState;
 import com.connectm.model.Move;
 
@@ -9,11 +9,26 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 
 /**
  * Displays the Connect M game board graphically, handles user interactions, and animates piece drops.
+ * <p>
+ * The parts of the picture that never change (column numbers, the blue board and its holes, and
+ * the highlighted version of a column) are rendered once into cached images, and discs are drawn
+ * from pre-rendered sprites. The caches are rendered at the display's pixel scale (and again when
+ * it changes), so they stay sharp on HiDPI screens. Hover changes and animation ticks repaint only
+ * the affected columns, and painting skips columns outside the clip.
  */
 public class ConnectMView extends JPanel {
+    private static final Color OUTLINE_COLOR = new Color(100, 100, 100);  // Hole and disc outlines
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 100);    // Preview disc shadow
+    private static final BasicStroke OUTLINE_STROKE = new BasicStroke(2);
+    private static final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 14);
+    private static final int SHADOW_OFFSET = 4; // Preview shadow offset in pixels
+    private static final int SPRITE_PAD = 1;    // Room in sprites for the outline stroke outside the disc
+
     private final int gridSize;
     private final int cellSize;
     private final int headerSize; // Total header size (e.g. 100 = 50px preview + 50px column numbers)
@@ -27,6 +42,14 @@ public class ConnectMView extends JPanel {
     private final Color boardBlue = new Color(0, 0, 150);       // Board background color
     private final Color highlightColor = new Color(255, 255, 255, 100); // Column highlight
 
+    // Cached renderings, created on first paint
+    private BufferedImage staticLayer;       // Column numbers, board background and holes
+    private BufferedImage highlightedColumn; // One board column with the hover highlight applied
+    private final BufferedImage[] discSprites = new BufferedImage[3];    // Full-size discs, by player
+    private final BufferedImage[] previewSprites = new BufferedImage[3]; // Preview discs with shadow, by player
+    private double cacheScaleX = 1;          // Device pixels per unit the caches were rendered at
+    private double cacheScaleY = 1;
+
     // Hover state
     private int hoveredColumn = -1;
 
@@ -36,7 +59,7 @@ public class ConnectMView extends JPanel {
     private int animTargetRow = -1;
     private double animCurrentRow = -1;
     private final double animStep = 0.3; // Row increment per tick
-    private Color fallingPieceColor;
+    private int fallingPlayer;            // Owner of the falling piece (1 or 2)
 
     /**
      * Constructs the game view with the given game state and dimensions.
@@ -47,7 +70,7 @@ public class ConnectMView extends JPanel {
      */
     public ConnectMView(GameState gameState, int cellSize, int headerSize) {
         this.gameState = gameState;
-        this.gridSize = gameState.getBoard().getSize();
+        this.gridSize = gameState.getSnapshot().getSize();
         this.cellSize = cellSize;
         this.headerSize = headerSize;
 
@@ -77,13 +100,11 @@ public class ConnectMView extends JPanel {
                         p.y >= boardY && p.y < boardY + boardHeight) {
                     int col = (p.x - boardX) / cellSize;
                     if (col != hoveredColumn) {
-                        hoveredColumn = col;
-                        repaint();
+                        setHoveredColumn(col);
                     }
                 } else {
                     if (hoveredColumn != -1) {
-                        hoveredColumn = -1;
-                        repaint();
+                        setHoveredColumn(-1);
                     }
                 }
             }
@@ -91,8 +112,7 @@ public class ConnectMView extends JPanel {
             @Override
             public void mouseExited(MouseEvent e) {
                 if (!isAnimating) {
-                    hoveredColumn = -1;
-                    repaint();
+                    setHoveredColumn(-1);
                 }
             }
 
@@ -118,13 +138,38 @@ public class ConnectMView extends JPanel {
      * @param col The column index clicked (0 to gridSize-1)
      */
     public void handleColumnClick(int col) {
-        if (gameState.getBoard().isColumnFull(col)) {
+        if (gameState.isGameOver() || gameState.getCurrentPlayer() != 1) {
+            return; // Not the human's turn, e.g. while the AI is thinking
+        }
+        if (gameState.getSnapshot().isColumnFull(col)) {
             return;
         }
         Move move = new Move(col);
         animateDrop(move, gameState.getCurrentPlayer());
     }
 
+    /**
+     * Changes the hovered column, repainting only the old and new columns.
+     *
+     * @param col The new hovered column, or -1 for none
+     */
+    private void setHoveredColumn(int col) {
+        repaintColumn(hoveredColumn);
+        hoveredColumn = col;
+        repaintColumn(hoveredColumn);
+    }
+
+    /**
+     * Schedules a repaint of one column, from the preview area down to the bottom of the board.
+     *
+     * @param col The column to repaint; ignored if out of range
+     */
+    private void repaintColumn(int col) {
+        if (col >= 0 && col < gridSize) {
+            repaint(col * cellSize, 0, cellSize, headerSize + gridSize * cellSize);
+        }
+    }
+
     /**
      * Sets the game controller for this view to delegate move handling.
      *
@@ -141,19 +186,12 @@ public class ConnectMView extends JPanel {
      * @param player The player making the move (1 or 2)
      */
     public void animateDrop(Move move, int player) {
-        fallingPieceColor = (player == 1) ? player1Color : player2Color;
-        Board board = gameState.getBoard();
-
-        int targetRow = -1;
-        for (int row = gridSize - 1; row >= 0; row--) {
-            if (board.getState()[row][move.column()] == 0) {
-                targetRow = row;
-                break;
-            }
-        }
+        fallingPlayer = player;
+        int targetRow = gameState.getSnapshot().getNextRow(move.column());
         if (targetRow == -1) return;
 
         isAnimating = true;
+        repaintColumn(hoveredColumn); // Clear the hover highlight and preview
         animColumn = move.column();
         animTargetRow = targetRow;
         animCurrentRow = -1; // Start above the board
@@ -177,6 +215,7 @@ public class ConnectMView extends JPanel {
 
         int animDelay = 25; // Milliseconds between animation updates
         return new Timer(animDelay, e -> {
+            int column = animColumn; // Finalizing the move below resets it
             if (animCurrentRow < animTargetRow) {
                 speed[0] = Math.min(speed[0] + gravity, maxSpeed); // Accelerate smoothly
                 animCurrentRow += speed[0]; // Apply updated speed
@@ -191,112 +230,207 @@ public class ConnectMView extends JPanel {
                     ((Timer)e.getSource()).stop();
                 }
             }
-            repaint();
+            repaintColumn(column);
         });
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        staticLayer = null; // Re-render for the (possibly new) screen's graphics configuration
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        AffineTransform device = g2d.getTransform();
+        if (staticLayer == null || device.getScaleX() != cacheScaleX || device.getScaleY() != cacheScaleY) {
+            renderCaches(device.getScaleX(), device.getScaleY());
+        }
+        int boardY = headerSize;
+        int holeMargin = cellSize / 10;
+
+        // Static layer: column numbers, board background and holes
+        drawLayer(g2d, staticLayer, 0, 0);
+
+        // Only columns that intersect the clip need their dynamic parts drawn
+        Rectangle clip = g2d.getClipBounds();
+        int firstCol = clip == null ? 0 : Math.max(0, clip.x / cellSize);
+        int lastCol = clip == null ? gridSize - 1 : Math.min(gridSize - 1, (clip.x + clip.width - 1) / cellSize);
+
+        // Preview disc and highlight for the hovered column (if not animating)
+        if (hoveredColumn >= firstCol && hoveredColumn <= lastCol && !isAnimating) {
+            int previewDiameter = (int) ((cellSize - 2 * holeMargin) * 0.8);
+            int previewX = hoveredColumn * cellSize + (cellSize - previewDiameter) / 2;
+            int previewY = (headerSize / 2 - previewDiameter) / 2;
+            drawLayer(g2d, previewSprites[gameState.getCurrentPlayer()], previewX - SPRITE_PAD, previewY - SPRITE_PAD);
+            drawLayer(g2d, highlightedColumn, hoveredColumn * cellSize, boardY);
+        }
+
+        // Draw pieces from the latest published position
+        BoardSnapshot snapshot = gameState.getSnapshot();
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int piece = snapshot.get(row, col);
+                if (piece != 0) {
+                    drawLayer(g2d, discSprites[piece], col * cellSize + holeMargin - SPRITE_PAD,
+                            boardY + row * cellSize + holeMargin - SPRITE_PAD);
+                }
+            }
+        }
 
-        // Define header areas
-        int previewAreaHeight = headerSize / 2;      // Top half for preview disk
-        int columnHeaderAreaHeight = headerSize / 2; // Bottom half for column numbers
-        int boardX = 0;
-        int boardY = headerSize; // Adjusted to ensure the board fits within the visible area
+        // Draw the falling (animated) piece
+        if (isAnimating && animColumn >= 0) {
+            int pieceX = animColumn * cellSize + holeMargin - SPRITE_PAD;
+            int pieceY = boardY + (int) (animCurrentRow * cellSize) + holeMargin - SPRITE_PAD;
+            drawLayer(g2d, discSprites[fallingPlayer], pieceX, pieceY);
+        }
+    }
+
+    /**
+     * Renders the static layer, the highlighted column and the disc sprites at a display scale.
+     *
+     * @param scaleX The device pixels per unit horizontally
+     * @param scaleY The device pixels per unit vertically
+     */
+    private void renderCaches(double scaleX, double scaleY) {
+        cacheScaleX = scaleX;
+        cacheScaleY = scaleY;
         int boardWidth = gridSize * cellSize;
         int boardHeight = gridSize * cellSize;
+        int holeMargin = cellSize / 10;
+        int holeDiameter = cellSize - 2 * holeMargin;
+
+        staticLayer = createLayerImage(boardWidth, headerSize + boardHeight);
+        Graphics2D g2d = createLayerGraphics(staticLayer);
 
-        // Draw column numbers in the header area
+        // Column numbers in the lower half of the header
+        int previewAreaHeight = headerSize / 2;
+        int columnHeaderAreaHeight = headerSize / 2;
         g2d.setColor(Color.DARK_GRAY);
-        Font headerFont = new Font("Segoe UI", Font.BOLD, 14);
-        g2d.setFont(headerFont);
+        g2d.setFont(HEADER_FONT);
+        FontMetrics metrics = g2d.getFontMetrics();
         for (int col = 0; col < gridSize; col++) {
             String colNum = String.valueOf(col + 1); // Columns are 1 to N
-            int textX = boardX + col * cellSize + cellSize / 2 - g2d.getFontMetrics().stringWidth(colNum) / 2;
-            int textY = previewAreaHeight + columnHeaderAreaHeight / 2 + g2d.getFontMetrics().getAscent() / 2;
+            int textX = col * cellSize + cellSize / 2 - metrics.stringWidth(colNum) / 2;
+            int textY = previewAreaHeight + columnHeaderAreaHeight / 2 + metrics.getAscent() / 2;
             g2d.drawString(colNum, textX, textY);
         }
 
-        // Draw the preview disc in the top half (if not animating)
-        if (hoveredColumn >= 0 && hoveredColumn < gridSize && !isAnimating) {
-            int holeMargin = cellSize / 10;
-            int holeDiameter = cellSize - 2 * holeMargin;
-            int previewDiameter = (int)(holeDiameter * 0.8);
-            int previewX = boardX + hoveredColumn * cellSize + (cellSize - previewDiameter) / 2;
-            int previewY = (previewAreaHeight - previewDiameter) / 2;
-            int currentPlayer = gameState.getCurrentPlayer();
-
-            // Draw a more prominent shadow
-            int shadowOffset = 4; // Increased offset for better visibility
-            g2d.setColor(new Color(0, 0, 0, 100)); // Increased alpha for more contrast
-            g2d.fillOval(previewX + shadowOffset, previewY + shadowOffset, previewDiameter, previewDiameter);
-
-            // Draw the preview disc
-            g2d.setColor(currentPlayer == 1 ? player1Color : player2Color);
-            g2d.fillOval(previewX, previewY, previewDiameter, previewDiameter);
-            g2d.setColor(new Color(100, 100, 100));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawOval(previewX, previewY, previewDiameter, previewDiameter);
-        }
+        // Board background (Connect 4 style) with circular cutouts (holes)
+        g2d.translate(0, headerSize);
+        paintBoardCells(g2d, gridSize, boardBlue, holeMargin, holeDiameter);
+        g2d.dispose();
 
-        // Draw board background (Connect 4 style)
+        // A single column with the hover highlight under its holes
+        highlightedColumn = createLayerImage(cellSize, boardHeight);
+        g2d = createLayerGraphics(highlightedColumn);
         g2d.setColor(boardBlue);
-        g2d.fillRect(boardX, boardY, boardWidth, boardHeight);
-
-        // Highlight hovered column (if not animating)
-        if (hoveredColumn >= 0 && hoveredColumn < gridSize && !isAnimating) {
-            int highlightX = boardX + hoveredColumn * cellSize;
-            g2d.setColor(highlightColor);
-            g2d.fillRect(highlightX, boardY, cellSize, boardHeight);
+        g2d.fillRect(0, 0, cellSize, boardHeight);
+        paintBoardCells(g2d, 1, highlightColor, holeMargin, holeDiameter);
+        g2d.dispose();
+
+        int previewDiameter = (int) (holeDiameter * 0.8);
+        for (int player = 1; player <= 2; player++) {
+            Color color = player == 1 ? player1Color : player2Color;
+            discSprites[player] = createLayerImage(holeDiameter + 2 * SPRITE_PAD + 1, holeDiameter + 2 * SPRITE_PAD + 1);
+            g2d = createLayerGraphics(discSprites[player]);
+            paintDisc(g2d, color, SPRITE_PAD, holeDiameter);
+            g2d.dispose();
+
+            int previewSize = previewDiameter + SHADOW_OFFSET + 2 * SPRITE_PAD + 1;
+            previewSprites[player] = createLayerImage(previewSize, previewSize);
+            g2d = createLayerGraphics(previewSprites[player]);
+            g2d.setColor(SHADOW_COLOR);
+            g2d.fillOval(SPRITE_PAD + SHADOW_OFFSET, SPRITE_PAD + SHADOW_OFFSET, previewDiameter, previewDiameter);
+            paintDisc(g2d, color, SPRITE_PAD, previewDiameter);
+            g2d.dispose();
         }
+    }
 
-        // Draw circular cutouts (holes)
-        int holeMargin = cellSize / 10;
-        int holeDiameter = cellSize - 2 * holeMargin;
+    /**
+     * Fills columns of board cells with a background color and draws their white holes.
+     *
+     * @param g2d          The graphics to draw into, with the board's top-left corner at the origin
+     * @param columns      The number of columns to draw
+     * @param background   The color behind the holes
+     * @param holeMargin   The gap between a cell's edge and its hole
+     * @param holeDiameter The diameter of a hole
+     */
+    private void paintBoardCells(Graphics2D g2d, int columns, Color background, int holeMargin, int holeDiameter) {
+        g2d.setColor(background);
+        g2d.fillRect(0, 0, columns * cellSize, gridSize * cellSize);
+        g2d.setStroke(OUTLINE_STROKE);
         for (int row = 0; row < gridSize; row++) {
-            for (int col = 0; col < gridSize; col++) {
-                int x = boardX + col * cellSize + holeMargin;
-                int y = boardY + row * cellSize + holeMargin;
+            for (int col = 0; col < columns; col++) {
+                int x = col * cellSize + holeMargin;
+                int y = row * cellSize + holeMargin;
                 g2d.setColor(Color.WHITE);
                 g2d.fillOval(x, y, holeDiameter, holeDiameter);
-                g2d.setColor(new Color(100, 100, 100));
-                g2d.setStroke(new BasicStroke(2));
+                g2d.setColor(OUTLINE_COLOR);
                 g2d.drawOval(x, y, holeDiameter, holeDiameter);
             }
         }
+    }
 
-        // Draw pieces from the board model
-        Board boardModel = gameState.getBoard();
-        int[][] boardArray = boardModel.getState();
-        for (int row = 0; row < gridSize; row++) {
-            for (int col = 0; col < gridSize; col++) {
-                if (boardArray[row][col] != 0) {
-                    int x = boardX + col * cellSize + holeMargin;
-                    int y = boardY + row * cellSize + holeMargin;
-                    g2d.setColor(boardArray[row][col] == 1 ? player1Color : player2Color);
-                    g2d.fillOval(x, y, holeDiameter, holeDiameter);
-                    g2d.setColor(new Color(100, 100, 100));
-                    g2d.setStroke(new BasicStroke(2));
-                    g2d.drawOval(x, y, holeDiameter, holeDiameter);
-                }
-            }
-        }
+    /**
+     * Draws an outlined disc.
+     *
+     * @param g2d      The graphics to draw into
+     * @param color    The disc color
+     * @param offset   The disc's top-left coordinate on both axes
+     * @param diameter The disc diameter
+     */
+    private static void paintDisc(Graphics2D g2d, Color color, int offset, int diameter) {
+        g2d.setColor(color);
+        g2d.fillOval(offset, offset, diameter, diameter);
+        g2d.setColor(OUTLINE_COLOR);
+        g2d.setStroke(OUTLINE_STROKE);
+        g2d.drawOval(offset, offset, diameter, diameter);
+    }
 
-        // Draw the falling (animated) piece
-        if (isAnimating && animColumn >= 0) {
-            int holeMarginAnim = cellSize / 10;
-            int holeDiameterAnim = cellSize - 2 * holeMarginAnim;
-            int pieceX = boardX + animColumn * cellSize + holeMarginAnim;
-            int pieceY = boardY + (int)(animCurrentRow * cellSize) + holeMarginAnim;
-            g2d.setColor(fallingPieceColor);
-            g2d.fillOval(pieceX, pieceY, holeDiameterAnim, holeDiameterAnim);
-            g2d.setColor(new Color(100, 100, 100));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawOval(pieceX, pieceY, holeDiameterAnim, holeDiameterAnim);
-        }
+    /**
+     * Creates a translucent image suited to the screen the panel is shown on, with one pixel per
+     * device pixel at the current cache scale.
+     *
+     * @param width  The image width in panel units
+     * @param height The image height in panel units
+     * @return The image
+     */
+    private BufferedImage createLayerImage(int width, int height) {
+        int pixelWidth = (int) Math.ceil(width * cacheScaleX);
+        int pixelHeight = (int) Math.ceil(height * cacheScaleY);
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        return config != null
+                ? config.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Creates antialiased graphics for rendering into a cached image in panel units.
+     *
+     * @param image An image made by {@link #createLayerImage}
+     * @return The graphics, scaled to the cache scale
+     */
+    private Graphics2D createLayerGraphics(BufferedImage image) {
+        Graphics2D g2d = image.createGraphics();
+        g2d.scale(cacheScaleX, cacheScaleY);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g2d;
+    }
+
+    /**
+     * Draws a cached image with the inverse of its scale, so each of its pixels lands on one
+     * device pixel.
+     *
+     * @param g2d   The panel's graphics
+     * @param image An image made by {@link #createLayerImage}
+     * @param x     The left edge in panel units
+     * @param y     The top edge in panel units
+     */
+    private void drawLayer(Graphics2D g2d, BufferedImage image, int x, int y) {
+        g2d.drawImage(image, new AffineTransform(1 / cacheScaleX, 0, 0, 1 / cacheScaleY, x, y), null);
     }
 
     /**
@@ -320,6 +454,7 @@ public class ConnectMView extends JPanel {
             if (option == JOptionPane.YES_OPTION) {
                 controller.resetGame();
             } else {
+                controller.shutdown(); // Stops the AI threads and writes out its caches
                 System.exit(0);
             }
         });